@@ -0,0 +1,195 @@
+package com.endo4life.aop.logging;
+
+import com.endo4life.aop.logging.annotation.LogExecutionTime;
+import com.endo4life.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Aspect for timing service, repository and REST Spring components. Every
+ * call is counted in {@code app.method.calls}; a sampled share of calls, and
+ * every call of a {@link LogExecutionTime} method, is recorded in
+ * {@code app.method.duration}. Arguments are never rendered except for calls
+ * slower than the configured threshold, and then only in truncated form.
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int maxArgumentLength;
+    private final Map<MeterKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    // Keyed by proxy class: inherited methods such as CrudRepository.save share one Method for every repository
+    private record MeterKey(Class<?> proxyType, Method method) {
+    }
+
+    private record MethodMeters(Logger log, String name, Counter calls, Counter errors, Timer duration,
+            boolean alwaysTimed) {
+    }
+
+    public TimingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Instrumentation config = applicationProperties.instrumentation();
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = config.sampleRate();
+        this.slowThresholdNanos = config.slowThreshold().toNanos();
+        this.maxArgumentLength = config.maxArgumentLength();
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut("""
+            within(@org.springframework.stereotype.Component *)
+             || within(@org.springframework.stereotype.Repository *)
+             || within(@org.springframework.stereotype.Service *)
+             || within(@org.springframework.stereotype.Controller *)
+             """)
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the
+        // advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut("""
+            within(com.endo4life.repository..*)
+             || within(com.endo4life.service..*)
+             || within(com.endo4life.web.rest..*)
+            """)
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the
+        // advices.
+    }
+
+    /**
+     * Advice that counts and times a method, and logs it when slow or failing.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(final ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters method = meters.computeIfAbsent(
+                new MeterKey(joinPoint.getThis().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod()),
+                key -> register(joinPoint, key.method()));
+        method.calls().increment();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (final Throwable e) {
+            method.errors().increment();
+            if (e instanceof IllegalArgumentException) {
+                method.log().error("Illegal argument: {} in {}()", describe(joinPoint.getArgs()), method.name());
+            } else {
+                method.log().error("Exception in {}() with cause = '{}' and exception = '{}'", method.name(),
+                        e.getCause() == null ? "NULL" : e.getCause(), e.getMessage(), e);
+            }
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (method.alwaysTimed() || sampled()) {
+                method.duration().record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            if (elapsed >= slowThresholdNanos) {
+                method.log().warn("Slow call: {}() took {} ms with argument[s] = {}", method.name(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), describe(joinPoint.getArgs()));
+            }
+        }
+    }
+
+    private MethodMeters register(ProceedingJoinPoint joinPoint, Method method) {
+        Class<?> type = userType(joinPoint);
+        String className = type.getSimpleName();
+        String methodName = method.getName();
+        return new MethodMeters(
+                LoggerFactory.getLogger(type),
+                methodName,
+                meterRegistry.counter("app.method.calls", "class", className, "method", methodName),
+                meterRegistry.counter("app.method.errors", "class", className, "method", methodName),
+                Timer.builder("app.method.duration")
+                        .description("Sampled execution time of application methods")
+                        .tags("class", className, "method", methodName)
+                        .register(meterRegistry),
+                method.isAnnotationPresent(LogExecutionTime.class));
+    }
+
+    /**
+     * The application type behind the call: the repository interface for Spring
+     * Data proxies, whose target is the shared SimpleJpaRepository, otherwise the
+     * target bean's class.
+     */
+    private Class<?> userType(ProceedingJoinPoint joinPoint) {
+        if (joinPoint.getThis() instanceof Repository<?, ?>) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+                if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                    return type;
+                }
+            }
+        }
+        return AopUtils.getTargetClass(joinPoint.getTarget());
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Renders arguments without walking object graphs: simple values are
+     * printed, anything else is reduced to its type and size.
+     */
+    private String describe(Object[] args) {
+        return Stream.of(args)
+                .map(arg -> StringUtils.abbreviate(describe(arg), maxArgumentLength))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String describe(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean
+                || arg instanceof Enum<?> || arg instanceof UUID || arg instanceof Temporal) {
+            return arg.toString();
+        }
+        if (arg instanceof MultipartFile file) {
+            return "MultipartFile(" + file.getOriginalFilename() + ", " + file.getSize() + " bytes)";
+        }
+        if (arg instanceof Collection<?> collection) {
+            return arg.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return arg.getClass().getSimpleName() + "[size=" + map.size() + "]";
+        }
+        return arg.getClass().getSimpleName();
+    }
+}
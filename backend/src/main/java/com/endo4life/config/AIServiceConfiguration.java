@@ -1,22 +1,59 @@
 package com.endo4life.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import com.endo4life.service.ai.AIServiceProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
- * Configuration for AI Service communication.
+ * Configuration for AI Service communication. Calls share a pool of
+ * keep-alive HTTP/1.1 connections bounded by {@code ai-service.max-connections}.
  */
 @Configuration
+@RequiredArgsConstructor
 public class AIServiceConfiguration {
 
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(10);
+    private static final TimeValue IDLE_EVICTION = TimeValue.ofSeconds(30);
+
+    private final AIServiceProperties aiServiceProperties;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient aiHttpClient() {
+        int maxConnections = aiServiceProperties.getMaxConnections();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // Every call goes to the same AI service host
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(CONNECT_TIMEOUT)
+                        .setSocketTimeout(Timeout.ofMilliseconds(aiServiceProperties.getTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a free pooled connection counts as connecting
+                        .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                        .build())
+                .evictIdleConnections(IDLE_EVICTION)
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000);
-        factory.setReadTimeout(120000);
-        return new RestTemplate(factory);
+    public RestTemplate restTemplate(CloseableHttpClient aiHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(aiHttpClient));
     }
 }
@@ -1,6 +1,9 @@
 package com.endo4life.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.cors.CorsConfiguration;
 
 @ConfigurationProperties(prefix = "spring.application", ignoreUnknownFields = false)
@@ -9,7 +12,12 @@ public record ApplicationProperties(
                 MinioConfiguration minioConfiguration,
                 CorsConfiguration cors,
                 String name,
-                Job job) {
+                Job job,
+                Ingestion ingestion,
+                WebhookQueue webhookQueue,
+                CertificateQueue certificateQueue,
+                Thumbnail thumbnail,
+                Instrumentation instrumentation) {
 
         public record KeycloakConfiguration(
                         String baseUrl,
@@ -42,7 +50,45 @@ public record ApplicationProperties(
                         String bucketThumbnail,
                         String bucketOther,
                         String bucketProcess,
-                        String bucketBook) {
+                        String bucketBook,
+                        DataSize partSize,
+                        Integer maxPartsInFlight,
+                        Long presignedUrlCacheSize) {
+        }
+
+        public record Ingestion(
+                        int workers,
+                        int maxInFlight,
+                        int batchSize) {
+        }
+
+        public record WebhookQueue(
+                        int workers,
+                        int maxAttempts,
+                        Duration initialBackoff,
+                        Duration maxBackoff,
+                        Duration pollInterval,
+                        Duration lease) {
+        }
+
+        public record CertificateQueue(
+                        int workers,
+                        int maxAttempts,
+                        Duration initialBackoff,
+                        Duration maxBackoff,
+                        Duration pollInterval,
+                        Duration lease) {
+        }
+
+        public record Thumbnail(
+                        String format,
+                        float quality) {
+        }
+
+        public record Instrumentation(
+                        double sampleRate,
+                        Duration slowThreshold,
+                        int maxArgumentLength) {
         }
 
         public record Job(
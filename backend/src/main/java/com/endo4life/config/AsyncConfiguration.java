@@ -1,13 +1,18 @@
 package com.endo4life.config;
 
+import com.endo4life.constant.Constants;
+import com.endo4life.service.ai.AIServiceProperties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfiguration {
 
     @Bean(name = "taskExecutor")
@@ -20,5 +25,87 @@ public class AsyncConfiguration {
         executor.initialize();
         return executor;
     }
-}
 
+    @Bean(name = "importExecutor")
+    public Executor importExecutor(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Ingestion ingestion = applicationProperties.ingestion();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ingestion.workers());
+        executor.setMaxPoolSize(ingestion.workers());
+        // Each in-flight file queues at most an upload and a probe task
+        executor.setQueueCapacity(ingestion.maxInFlight() * 2);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "webhookExecutor")
+    public Executor webhookExecutor(ApplicationProperties applicationProperties) {
+        int workers = applicationProperties.webhookQueue().workers();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // MinioEventQueue never claims more events than there are idle workers
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("webhook-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "certificateExecutor")
+    public Executor certificateExecutor(ApplicationProperties applicationProperties) {
+        int workers = applicationProperties.certificateQueue().workers();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // CertificateIssuanceQueue never claims more jobs than there are idle workers
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("certificate-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "aiExecutor")
+    public Executor aiExecutor(AIServiceProperties aiServiceProperties) {
+        int maxConnections = aiServiceProperties.getMaxConnections();
+        // One worker per pooled AI service connection, so a running analysis never waits for the pool
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConnections);
+        executor.setMaxPoolSize(maxConnections);
+        executor.setQueueCapacity(maxConnections * 10);
+        executor.setThreadNamePrefix("ai-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "keycloakExecutor")
+    public Executor keycloakExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Constants.KEYCLOAK_BULK_PARALLELISM);
+        executor.setMaxPoolSize(Constants.KEYCLOAK_BULK_PARALLELISM);
+        // Each bulk run keeps at most KEYCLOAK_BULK_PARALLELISM calls in flight;
+        // concurrent runs that overflow the queue run on the caller instead
+        executor.setQueueCapacity(Constants.KEYCLOAK_BULK_PARALLELISM * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("keycloak-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "thumbnailExecutor")
+    public Executor thumbnailExecutor() {
+        // Decoding and scaling are CPU bound, so one thread per core
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.initialize();
+        return executor;
+    }
+}
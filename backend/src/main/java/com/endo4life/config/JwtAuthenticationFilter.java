@@ -7,21 +7,33 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.endo4life.security.TokenProvider;
 import com.endo4life.security.UserContextHolder;
 
+/**
+ * Authenticates bearer tokens through {@link TokenProvider}. Outcomes are
+ * counted in {@code auth.requests} rather than logged per request.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
+    private final Counter authenticated;
+    private final Counter rejected;
+
+    public JwtAuthenticationFilter(TokenProvider tokenProvider, MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.authenticated = meterRegistry.counter("auth.requests", "outcome", "authenticated");
+        this.rejected = meterRegistry.counter("auth.requests", "outcome", "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -29,14 +41,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         var token = StringUtils.removeStart(request.getHeader(HttpHeaders.AUTHORIZATION), "Bearer ");
         if (StringUtils.isNotBlank(token)) {
             try {
-                var authentication = tokenProvider.getAuthentication(token);
-                log.info("Authentication Object: {}", authentication);
-                log.info("Principal: {}", authentication.getPrincipal());
-                log.info("Authorities: {}", authentication.getAuthorities());
-                log.info("Is Authenticated: {}", authentication.isAuthenticated());
-                UserContextHolder.withAuthentication(authentication);
+                UserContextHolder.withAuthentication(tokenProvider.getAuthentication(token));
+                authenticated.increment();
             } catch (Exception e) {
-                log.error("Failed to authenticate token: {}", e.getMessage(), e);
+                rejected.increment();
+                log.warn("Failed to authenticate token: {}", e.getMessage());
+                log.debug("Token authentication failure", e);
             }
         }
         filterChain.doFilter(request, response);
@@ -2,11 +2,14 @@ package com.endo4life.config;
 
 import com.endo4life.constant.Constants;
 import com.endo4life.service.minio.MinioProperties;
+import com.endo4life.service.minio.MultipartMinioClient;
+import com.endo4life.service.minio.PartBufferPool;
 import com.endo4life.utils.MinioUtil;
 import com.endo4life.utils.minio.MinIOUtil;
 import com.endo4life.web.rest.model.ResourceType;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import io.minio.SetBucketPolicyArgs;
 import jakarta.annotation.PostConstruct;
@@ -101,6 +104,21 @@ public class MinioConfiguration {
         }
     }
 
+    @Bean
+    public MultipartMinioClient multipartMinioClient() {
+        MinioAsyncClient client = MinioAsyncClient.builder()
+                .endpoint(minioProperties.getEndpoint())
+                .credentials(minioProperties.getUsername(), minioProperties.getPassword())
+                .build();
+        return new MultipartMinioClient(client, minioProperties.getRegion());
+    }
+
+    @Bean
+    public PartBufferPool partBufferPool() {
+        return new PartBufferPool((int) minioProperties.getPartSize().toBytes(),
+                minioProperties.getMaxPartsInFlight());
+    }
+
     @SneakyThrows
     private void createBucketIfNotExist(MinioClient client, String bucketName) {
         if (!client.bucketExists(BucketExistsArgs.builder()
@@ -49,6 +49,8 @@ public class Constants {
         /* MinIO */
         public final String queueArnWebhook = "arn:minio:sqs::%s:webhook";
         public final int DEFAULT_PRESIGNED_EXPIRY = 10 * MINUTES_TO_MILLIS;
+        // Cached links are dropped at half their lifetime so clients always get a usable URL
+        public final int PRESIGNED_URL_CACHE_TTL = DEFAULT_PRESIGNED_EXPIRY / 2;
         public final Map<String, String> MinioBucketOperations = Map.of(
                         "List", "s3:ListBucket",
                         "Create", "s3:CreateBucket",
@@ -62,7 +64,6 @@ public class Constants {
                         "Get", "s3:ObjectAccessed:*",
                         "Create", "s3:ObjectCreated:*",
                         "Delete", "s3:ObjectRemoved:*");
-        public final String DIVIDED_MULTIPART_FILE_PATTERN = ".part\\d+$";
 
         /* Resource */
         public final List<String> VIDEO_EXTENSIONS = List.of("mp4", "m4p", "m4v", "mkv", "avi", "mov", "wmv", "flv");
@@ -71,15 +72,26 @@ public class Constants {
         public final String THUMBNAIL_DIMENSION = "1280x720";
         public final String SMALL_THUMBNAIL_DIMENSION = "336x188";
         public final String THUMBNAIL_CONTENT_TYPE = "image/png";
+        // Range-read probing: a header and first GOP fit in a handful of blocks
+        public final int PROBE_BLOCK_SIZE = 1024 * 1024;
+        public final int PROBE_CACHED_BLOCKS = 8;
         public final String THUMBNAIL_EXTENSION = "png";
         public final String TEMPLATE_THUMBNAIL_NAME = "thumbnail_";
         public final String TEMPLATE_SMALL_THUMBNAIL_NAME = "small_thumbnail_";
+        // Thumbnail name template -> bounding box, every size is rendered from one decode
+        public final Map<String, String> THUMBNAIL_SIZES = Map.of(
+                        TEMPLATE_THUMBNAIL_NAME, THUMBNAIL_DIMENSION,
+                        TEMPLATE_SMALL_THUMBNAIL_NAME, SMALL_THUMBNAIL_DIMENSION);
         public final String IMAGE_RESOURCE_TYPE = "IMAGE";
         public final String VIDEO_RESOURCE_TYPE = "VIDEO";
         public final String AVATAR_RESOURCE_TYPE = "AVATAR";
         public final String THUMBNAIL_RESOURCE_TYPE = "THUMBNAIL";
         public final String OTHER_RESOURCE_TYPE = "OTHER";
         public final String PROCESS_RESOURCE_TYPE = "PROCESS";
+        public final int VIEW_COUNT_FLUSH_INTERVAL = 10 * S_TO_MILLIS;
+
+        /* Tag */
+        public final int TAG_DICTIONARY_REFRESH_INTERVAL = 5 * MINUTES_TO_MILLIS;
 
         /* Course */
         public final Integer INITIALIZE_VIEW_COUNT = 1;
@@ -114,4 +126,27 @@ public class Constants {
         public static final Double ZERO_DOUBLE = 0D;
         public static final String SINGLE_SELECT = "SINGLE_SELECT";
         public static final String MULTIPLE_SELECT = "MULTIPLE_SELECT";
+        // Compiled answer keys are also invalidated on test/question updates; the TTL
+        // bounds staleness of edits made on another instance
+        public final int ANSWER_KEY_CACHE_TTL = 5 * MINUTES_TO_MILLIS;
+        public final int ANSWER_KEY_CACHE_SIZE = 500;
+        public final int REGRADE_CHUNK_SIZE = 500;
+        /* ai */
+        // Finished background analyses stay fetchable this long after they complete
+        public final int AI_ANALYSIS_JOB_TTL = 30 * MINUTES_TO_MILLIS;
+        public final int AI_ANALYSIS_JOB_CACHE_SIZE = 1000;
+        /* security */
+        // Resolved bearer tokens; each entry expires with its token
+        public final int TOKEN_CACHE_SIZE = 10_000;
+        // Keycloak admin lookups; the Keycloak webhook evicts changed users sooner
+        public final int KEYCLOAK_USER_CACHE_TTL = 5 * MINUTES_TO_MILLIS;
+        public final int KEYCLOAK_USER_CACHE_SIZE = 10_000;
+        public final int KEYCLOAK_CLIENT_CACHE_TTL = HOURS_TO_MILLIS;
+        // Bulk admin operations run this many Keycloak calls at once, on a pool sized to match
+        public final int KEYCLOAK_BULK_PARALLELISM = 8;
+        public final int KEYCLOAK_CONNECTION_POOL_SIZE = 2 * KEYCLOAK_BULK_PARALLELISM;
+        // Password confirmations allowed per user within one window
+        public final int PASSWORD_CHECK_MAX_ATTEMPTS = 5;
+        public final int PASSWORD_CHECK_WINDOW = MINUTES_TO_MILLIS;
+        public final int PASSWORD_CHECK_TIMEOUT = 10 * S_TO_MILLIS;
 }
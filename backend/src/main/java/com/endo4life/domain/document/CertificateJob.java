@@ -0,0 +1,46 @@
+package com.endo4life.domain.document;
+
+import com.endo4life.domain.enumeration.CertificateJobStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Queued course completion certificate. Rows are written and claimed with
+ * native queries in {@link com.endo4life.repository.CertificateJobRepository}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "certificate_job")
+public class CertificateJob {
+
+    @Id
+    private UUID id;
+
+    private UUID userInfoId;
+
+    private UUID courseId;
+
+    @Enumerated(EnumType.STRING)
+    private CertificateJobStatus status;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
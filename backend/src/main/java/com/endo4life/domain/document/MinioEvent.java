@@ -0,0 +1,50 @@
+package com.endo4life.domain.document;
+
+import com.endo4life.domain.enumeration.MinIOEventAction;
+import com.endo4life.domain.enumeration.MinioEventStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Queued MinIO webhook event. Rows are written and claimed with native queries
+ * in {@link com.endo4life.repository.MinioEventRepository}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "minio_event")
+public class MinioEvent {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    private MinIOEventAction action;
+
+    private String bucket;
+
+    private String objectKey;
+
+    @Enumerated(EnumType.STRING)
+    private MinioEventStatus status;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.endo4life.domain.document;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Open S3 multipart upload of an object. Rows are written with native queries
+ * in {@link com.endo4life.repository.MultipartUploadRepository}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "multipart_upload")
+public class MultipartUpload {
+
+    @Id
+    private UUID id;
+
+    private String bucket;
+
+    private String objectKey;
+
+    private String uploadId;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,30 @@
+package com.endo4life.domain.document;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Read-only view of the generated {@code search_vector} column of
+ * {@link Resource}. Kept out of the main entity so regular resource loads do
+ * not carry the vector.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = "resource")
+public class ResourceSearch {
+
+    @Id
+    private UUID id;
+
+    @Column(columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+}
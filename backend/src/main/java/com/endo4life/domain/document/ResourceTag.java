@@ -0,0 +1,55 @@
+package com.endo4life.domain.document;
+
+import com.endo4life.domain.enumeration.TagCategory;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Read-only index row derived from the tag columns of {@link Resource}. Rows
+ * are written by the {@code trg_resource_tag_sync} database triggers.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@IdClass(ResourceTag.ResourceTagId.class)
+@Table(name = "resource_tag")
+public class ResourceTag {
+
+    @Id
+    private UUID resourceId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TagCategory category;
+
+    @Id
+    private String tag;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class ResourceTagId implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private UUID resourceId;
+        private TagCategory category;
+        private String tag;
+    }
+}
@@ -0,0 +1,13 @@
+package com.endo4life.domain.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk operation that keeps going past individual failures.
+ *
+ * @param succeeded items the operation was applied to, in input order
+ * @param failures  error message by item key, for the items it failed on
+ */
+public record BulkResult<T>(int total, List<T> succeeded, Map<String, String> failures) {
+}
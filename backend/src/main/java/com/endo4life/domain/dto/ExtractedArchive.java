@@ -0,0 +1,61 @@
+package com.endo4life.domain.dto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import com.endo4life.web.rest.model.CreateResourceRequestDto;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Result of opening a compressed upload. Entries stream lazily from the spooled
+ * archive, so the archive must stay open until every entry has been consumed.
+ */
+@Slf4j
+public class ExtractedArchive implements Closeable {
+
+    @Getter
+    private final Map<ExtractedFile, CreateResourceRequestDto> files;
+    private final Closeable source;
+    private final Path spoolPath;
+
+    public ExtractedArchive(Map<ExtractedFile, CreateResourceRequestDto> files, Closeable source,
+            Path spoolPath) {
+        this.files = files;
+        this.source = source;
+        this.spoolPath = spoolPath;
+    }
+
+    public static ExtractedArchive empty(Path spoolPath) {
+        return new ExtractedArchive(Collections.emptyMap(), null, spoolPath);
+    }
+
+    public static ExtractedArchive of(Closeable source, Path spoolPath) {
+        return new ExtractedArchive(new LinkedHashMap<>(), source, spoolPath);
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(source)) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                log.error("Failed to close archive: {}", e.getMessage());
+            }
+        }
+        if (Objects.nonNull(spoolPath) && Files.exists(spoolPath)) {
+            try (Stream<Path> paths = Files.walk(spoolPath)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                log.error("Failed to delete spooled archive {}: {}", spoolPath, e.getMessage());
+            }
+        }
+    }
+}
@@ -18,9 +18,10 @@ public class FileUploadProgressListener {
         this.bytesUploaded = 0;
     }
 
-    public void updateProgress(long bytes) {
+    // Parts complete concurrently, so updates must be serialised
+    public synchronized void updateProgress(long bytes) {
         this.bytesUploaded += bytes;
-        int progress = (int) ((bytesUploaded * 100) / totalBytes);
+        int progress = totalBytes > 0 ? (int) ((bytesUploaded * 100) / totalBytes) : 100;
 
         notificationService.notifyUploadProgress(fileName, progress);
     }
@@ -0,0 +1,17 @@
+package com.endo4life.domain.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) listing.
+ *
+ * @param nextCursor opaque token for the following page, null on the last page
+ * @param total      number of matching rows, null unless requested
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor, Long total) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(content.stream().<R>map(mapper).toList(), nextCursor, total);
+    }
+}
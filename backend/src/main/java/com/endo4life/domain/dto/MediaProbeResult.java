@@ -0,0 +1,35 @@
+package com.endo4life.domain.dto;
+
+import com.endo4life.constant.Constants;
+import lombok.Builder;
+
+import java.util.Objects;
+
+/**
+ * Everything the resource pipeline needs to know about an uploaded object,
+ * gathered from a single read of it.
+ *
+ * @param firstFrame first decoded video frame as PNG, or the image itself;
+ *                   null when not requested or not decodable
+ * @param duration   video length in seconds, null for images
+ */
+@Builder
+public record MediaProbeResult(
+        byte[] firstFrame,
+        Integer width,
+        Integer height,
+        Integer duration,
+        String codec,
+        long size) {
+
+    public String dimension() {
+        if (Objects.isNull(width) || Objects.isNull(height)) {
+            return null;
+        }
+        return width + " x " + height;
+    }
+
+    public String sizeText() {
+        return size / (1024.0 * 1024.0) + " " + Constants.UNIT_MB;
+    }
+}
@@ -0,0 +1,9 @@
+package com.endo4life.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * The parts of a stored test submission needed to grade it again.
+ */
+public record StoredSubmission(UUID id, String submittedAnswers, Integer score, Boolean passed) {
+}
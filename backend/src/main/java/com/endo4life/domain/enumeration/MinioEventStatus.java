@@ -0,0 +1,7 @@
+package com.endo4life.domain.enumeration;
+
+public enum MinioEventStatus {
+    PENDING,
+    PROCESSING,
+    FAILED
+}
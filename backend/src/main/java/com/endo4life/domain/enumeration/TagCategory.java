@@ -0,0 +1,13 @@
+package com.endo4life.domain.enumeration;
+
+/**
+ * Tag facets of a resource, matching the tag columns of the resource table.
+ */
+public enum TagCategory {
+    TAG,
+    DETAIL_TAG,
+    ANATOMY_LOCATION_TAG,
+    HP_TAG,
+    LIGHT_TAG,
+    UPPER_GASTRO_ANATOMY_TAG
+}
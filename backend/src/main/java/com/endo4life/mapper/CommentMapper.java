@@ -10,6 +10,7 @@ import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,6 +35,16 @@ public abstract class CommentMapper {
     @Mapping(target = "createdAt", source = "createdAt", qualifiedByName = "toOffsetDateTime")
     public abstract CommentResponseDto toCommentResponseDto(Comment comment);
 
+    /**
+     * Maps a single node, leaving replies and attachment links to the caller.
+     */
+    @Named("toCommentNode")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "createdAt", source = "createdAt", qualifiedByName = "toOffsetDateTime")
+    @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "attachments", ignore = true)
+    public abstract CommentResponseDto toCommentNode(Comment comment);
+
     @AfterMapping
     protected void updateAttachmentUrls(@MappingTarget CommentResponseDto commentResponseDto, Comment commentEntity) {
         List<String> attachments = commentResponseDto.getAttachments();
@@ -1,9 +1,8 @@
 package com.endo4life.mapper;
 
 import com.endo4life.domain.document.Resource;
-import com.endo4life.domain.document.Tag;
-import com.endo4life.repository.TagRepository;
 import com.endo4life.service.minio.MinioService;
+import com.endo4life.service.tag.TagDictionary;
 import com.endo4life.web.rest.model.CreateResourceRequestDto;
 import com.endo4life.web.rest.model.ResourceDetailResponseDto;
 import com.endo4life.web.rest.model.ResourceResponseDto;
@@ -29,11 +28,13 @@ import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
 @Mapper(componentModel = SPRING, uses = { DateTimeMapper.class })
 public abstract class ResourceMapper {
 
+    private static final int UUID_LENGTH = 36;
+
     @Autowired
     private MinioService minioService;
 
     @Autowired
-    private TagRepository tagRepository;
+    private TagDictionary tagDictionary;
 
     @Value("${spring.application.minio-configuration.endpoint}")
     private String minioEndpoint;
@@ -203,10 +204,13 @@ public abstract class ResourceMapper {
         if (StringUtils.isBlank(value)) {
             return "";
         }
+        // Stored tags are names; skip the exception-driven UUID parse for them
+        if (value.length() != UUID_LENGTH) {
+            return value;
+        }
         try {
             UUID tagId = UUID.fromString(value);
-            return tagRepository.findById(tagId)
-                    .map(Tag::getContent)
+            return tagDictionary.findContent(tagId)
                     .orElse(value);
         } catch (IllegalArgumentException e) {
             return value; // Already a name
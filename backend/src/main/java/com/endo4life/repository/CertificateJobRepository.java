@@ -0,0 +1,76 @@
+package com.endo4life.repository;
+
+import com.endo4life.domain.document.CertificateJob;
+import com.endo4life.domain.enumeration.CertificateJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CertificateJobRepository extends JpaRepository<CertificateJob, UUID> {
+
+    long countByStatus(CertificateJobStatus status);
+
+    /**
+     * Queues a certificate unless a job for the same user and course is already
+     * waiting or running. Joins the caller's transaction, so the job only
+     * becomes visible once the submission that earned it commits.
+     *
+     * @return 1 if queued, 0 if a live job already exists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO certificate_job (id, user_info_id, course_id, status, attempts, next_attempt_at, created_at)
+            VALUES (:id, :userInfoId, :courseId, 'PENDING', 0, now(), now())
+            ON CONFLICT (user_info_id, course_id) WHERE status IN ('PENDING', 'PROCESSING') DO NOTHING
+            """, nativeQuery = true)
+    int enqueue(@Param("id") UUID id, @Param("userInfoId") UUID userInfoId, @Param("courseId") UUID courseId);
+
+    /**
+     * Claims due jobs for processing. A claim is a lease: if the worker dies
+     * the job becomes due again once the lease expires.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE certificate_job
+            SET status = 'PROCESSING', attempts = attempts + 1, updated_at = now(),
+                next_attempt_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE id IN (SELECT j.id
+                         FROM certificate_job j
+                         WHERE j.status IN ('PENDING', 'PROCESSING')
+                           AND j.next_attempt_at <= now()
+                         ORDER BY j.next_attempt_at
+                         LIMIT :limit
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<CertificateJob> claimDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE certificate_job
+            SET status = 'PENDING', last_error = :error, updated_at = now(),
+                next_attempt_at = now() + make_interval(secs => :delaySeconds)
+            WHERE id = :id
+            """, nativeQuery = true)
+    void reschedule(@Param("id") UUID id, @Param("delaySeconds") long delaySeconds, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE certificate_job SET status = 'FAILED', last_error = :error, updated_at = now() WHERE id = :id",
+            nativeQuery = true)
+    void markFailed(@Param("id") UUID id, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM certificate_job WHERE id = :id", nativeQuery = true)
+    void complete(@Param("id") UUID id);
+}
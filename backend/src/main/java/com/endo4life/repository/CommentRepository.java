@@ -1,10 +1,17 @@
 package com.endo4life.repository;
 
 import com.endo4life.domain.document.Comment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +19,33 @@ import java.util.UUID;
 public interface CommentRepository extends JpaRepository<Comment, UUID>,
         JpaSpecificationExecutor<Comment> {
     List<Comment> findByCourseId(UUID courseId);
+
+    /**
+     * Fetches the page together with the eagerly mapped author instead of one
+     * select per distinct author.
+     */
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Comment> findAll(Specification<Comment> spec, Pageable pageable);
+
+    /**
+     * Ids of every reply below the given comments, at any depth.
+     */
+    @Query(value = """
+            WITH RECURSIVE thread AS (
+                SELECT id FROM comment WHERE parent_id IN (:rootIds)
+                UNION
+                SELECT c.id FROM comment c JOIN thread t ON c.parent_id = t.id
+            )
+            SELECT id FROM thread
+            """, nativeQuery = true)
+    List<UUID> findDescendantIds(@Param("rootIds") Collection<UUID> rootIds);
+
+    @Query("""
+            SELECT c FROM Comment c
+            LEFT JOIN FETCH c.user
+            WHERE c.id IN :ids
+            ORDER BY c.createdAt
+            """)
+    List<Comment> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -1,17 +1,56 @@
 package com.endo4life.repository;
 
 import com.endo4life.domain.document.DoctorUserConversations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DoctorUserConversationRepository
         extends JpaRepository<DoctorUserConversations, UUID>, JpaSpecificationExecutor<DoctorUserConversations> {
-    List<DoctorUserConversations> findByResourceIdAndParentIsNullOrderByCreatedAtDesc(UUID resourceId);
+    /**
+     * Fetches the page together with its eagerly mapped participants, resource
+     * and parent instead of one select per distinct related row.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"questioner", "assignee", "resource", "parent"})
+    Page<DoctorUserConversations> findAll(Specification<DoctorUserConversations> spec, Pageable pageable);
 
-    List<DoctorUserConversations> findByParentId(UUID parentId);
+    @EntityGraph(attributePaths = {"questioner", "assignee", "resource", "parent"})
+    Optional<DoctorUserConversations> findWithParticipantsById(UUID id);
+
+    /**
+     * Ids of every reply below the given conversations, at any depth.
+     * UNION rather than UNION ALL so a corrupted parent cycle still terminates.
+     */
+    @Query(value = """
+            WITH RECURSIVE thread AS (
+                SELECT id FROM doctor_user_conversations WHERE parent_id IN (:rootIds)
+                UNION
+                SELECT c.id FROM doctor_user_conversations c JOIN thread t ON c.parent_id = t.id
+            )
+            SELECT id FROM thread
+            """, nativeQuery = true)
+    List<UUID> findDescendantIds(@Param("rootIds") Collection<UUID> rootIds);
+
+    @Query("""
+            SELECT c FROM DoctorUserConversations c
+            LEFT JOIN FETCH c.questioner
+            LEFT JOIN FETCH c.assignee
+            LEFT JOIN FETCH c.resource
+            WHERE c.id IN :ids
+            ORDER BY c.createdAt
+            """)
+    List<DoctorUserConversations> findAllWithParticipantsByIdIn(@Param("ids") Collection<UUID> ids);
 }
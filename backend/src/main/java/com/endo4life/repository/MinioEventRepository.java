@@ -0,0 +1,98 @@
+package com.endo4life.repository;
+
+import com.endo4life.domain.document.MinioEvent;
+import com.endo4life.domain.enumeration.MinioEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MinioEventRepository extends JpaRepository<MinioEvent, UUID> {
+
+    long countByStatus(MinioEventStatus status);
+
+    /**
+     * Queues an event unless one is already pending for the same object.
+     *
+     * @return 1 if queued, 0 if collapsed into the pending event
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO minio_event (id, action, bucket, object_key, status, attempts, next_attempt_at, created_at)
+            VALUES (:id, :action, :bucket, :objectKey, 'PENDING', 0, now(), now())
+            ON CONFLICT (bucket, object_key) WHERE status = 'PENDING' DO NOTHING
+            """, nativeQuery = true)
+    int enqueue(@Param("id") UUID id, @Param("action") String action, @Param("bucket") String bucket,
+            @Param("objectKey") String objectKey);
+
+    /**
+     * Claims due events for processing. A claim is a lease: if the worker dies
+     * the event becomes due again once the lease expires. Events whose object is
+     * being processed under a live lease are left for a later round, and at most
+     * one event per object is claimed at a time (the earliest due). DISTINCT ON
+     * cannot be combined with FOR UPDATE, so rows are picked first and locked in
+     * the outer select.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE minio_event
+            SET status = 'PROCESSING', attempts = attempts + 1, updated_at = now(),
+                next_attempt_at = now() + make_interval(secs => :leaseSeconds)
+            WHERE id IN (SELECT c.id
+                         FROM minio_event c
+                         WHERE c.id IN (SELECT d.id
+                                        FROM (SELECT DISTINCT ON (e.bucket, e.object_key) e.id, e.next_attempt_at
+                                              FROM minio_event e
+                                              WHERE e.status IN ('PENDING', 'PROCESSING')
+                                                AND e.next_attempt_at <= now()
+                                                AND NOT EXISTS (SELECT 1
+                                                                FROM minio_event p
+                                                                WHERE p.bucket = e.bucket
+                                                                  AND p.object_key = e.object_key
+                                                                  AND p.status = 'PROCESSING'
+                                                                  AND p.next_attempt_at > now())
+                                              ORDER BY e.bucket, e.object_key, e.next_attempt_at) d
+                                        ORDER BY d.next_attempt_at
+                                        LIMIT :limit)
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<MinioEvent> claimDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Puts a failed event back in the queue. Does nothing when a newer event for
+     * the same object is already pending, since that one supersedes it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE minio_event
+            SET status = 'PENDING', last_error = :error, updated_at = now(),
+                next_attempt_at = now() + make_interval(secs => :delaySeconds)
+            WHERE id = :id
+              AND NOT EXISTS (SELECT 1
+                              FROM minio_event p
+                              WHERE p.bucket = minio_event.bucket
+                                AND p.object_key = minio_event.object_key
+                                AND p.status = 'PENDING')
+            """, nativeQuery = true)
+    int reschedule(@Param("id") UUID id, @Param("delaySeconds") long delaySeconds, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE minio_event SET status = 'FAILED', last_error = :error, updated_at = now() WHERE id = :id",
+            nativeQuery = true)
+    void markFailed(@Param("id") UUID id, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM minio_event WHERE id = :id", nativeQuery = true)
+    void complete(@Param("id") UUID id);
+}
@@ -0,0 +1,40 @@
+package com.endo4life.repository;
+
+import com.endo4life.domain.document.MultipartUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MultipartUploadRepository extends JpaRepository<MultipartUpload, UUID> {
+
+    @Query(value = "SELECT upload_id FROM multipart_upload WHERE bucket = :bucket AND object_key = :objectKey",
+            nativeQuery = true)
+    Optional<String> findUploadId(@Param("bucket") String bucket, @Param("objectKey") String objectKey);
+
+    /**
+     * Records the open upload of an object, replacing one that can no longer be resumed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO multipart_upload (id, bucket, object_key, upload_id, created_at)
+            VALUES (:id, :bucket, :objectKey, :uploadId, now())
+            ON CONFLICT (bucket, object_key) DO UPDATE SET upload_id = EXCLUDED.upload_id, created_at = now()
+            """, nativeQuery = true)
+    void register(@Param("id") UUID id, @Param("bucket") String bucket, @Param("objectKey") String objectKey,
+            @Param("uploadId") String uploadId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM multipart_upload WHERE bucket = :bucket AND object_key = :objectKey"
+            + " AND upload_id = :uploadId", nativeQuery = true)
+    void release(@Param("bucket") String bucket, @Param("objectKey") String objectKey,
+            @Param("uploadId") String uploadId);
+}
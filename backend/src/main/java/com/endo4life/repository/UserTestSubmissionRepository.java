@@ -3,6 +3,8 @@ package com.endo4life.repository;
 import com.endo4life.domain.document.Test;
 import com.endo4life.domain.document.UserInfo;
 import com.endo4life.domain.document.UserTestSubmission;
+import com.endo4life.domain.dto.StoredSubmission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,5 +43,17 @@ public interface UserTestSubmissionRepository extends JpaRepository<UserTestSubm
      */
     @Query("SELECT CASE WHEN COUNT(uts) > 0 THEN true ELSE false END FROM UserTestSubmission uts WHERE uts.test = :test AND uts.userInfo = :userInfo AND uts.passed = true")
     boolean hasUserPassedTest(@Param("test") Test test, @Param("userInfo") UserInfo userInfo);
+
+    /**
+     * Next chunk of a test's submissions after the given id, for re-grading
+     */
+    @Query("""
+            SELECT new com.endo4life.domain.dto.StoredSubmission(uts.id, uts.submittedAnswers, uts.score, uts.passed)
+            FROM UserTestSubmission uts
+            WHERE uts.test.id = :testId AND uts.id > :afterId
+            ORDER BY uts.id
+            """)
+    List<StoredSubmission> findChunkForRegrade(@Param("testId") UUID testId, @Param("afterId") UUID afterId,
+            Pageable pageable);
 }
 
@@ -0,0 +1,36 @@
+package com.endo4life.repository.specifications;
+
+import com.endo4life.domain.document.AbstractEntity;
+import com.endo4life.domain.document.AbstractEntity_;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@UtilityClass
+public class KeysetSpecifications {
+
+    /**
+     * Newest first; id breaks ties between rows created in the same instant.
+     */
+    public static final Sort KEYSET_SORT = Sort.by(
+            Sort.Order.desc(AbstractEntity_.CREATED_AT),
+            Sort.Order.desc(AbstractEntity_.ID));
+
+    /**
+     * Rows strictly after (createdAt, id) in {@link #KEYSET_SORT} order.
+     */
+    public <T extends AbstractEntity> Specification<T> after(final LocalDateTime createdAt, final UUID id) {
+        if (Objects.isNull(createdAt) || Objects.isNull(id)) {
+            return null;
+        }
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get(AbstractEntity_.createdAt), createdAt),
+                builder.and(
+                        builder.equal(root.get(AbstractEntity_.createdAt), createdAt),
+                        builder.lessThan(root.get(AbstractEntity_.id), id)));
+    }
+}
@@ -6,7 +6,14 @@ import com.endo4life.web.rest.model.ResourceState;
 import com.endo4life.web.rest.model.ResourceType;
 import jakarta.persistence.metamodel.SingularAttribute;
 import com.endo4life.domain.document.Resource;
+import com.endo4life.domain.document.ResourceSearch;
+import com.endo4life.domain.document.ResourceSearch_;
+import com.endo4life.domain.document.ResourceTag;
+import com.endo4life.domain.document.ResourceTag_;
 import com.endo4life.domain.document.Resource_;
+import com.endo4life.domain.enumeration.TagCategory;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import com.endo4life.utils.StringUtil;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -14,6 +21,8 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @UtilityClass
 public class ResourceSpecifications {
@@ -23,12 +32,13 @@ public class ResourceSpecifications {
                 .and(isValid())
                 .and(hasState(criteria.getState()))
                 .and(bySearchWords(criteria.getTitle()))
-                .and(byTagList(Resource_.tag, criteria.getTag()))
-                .and(byTagList(Resource_.detailTag, criteria.getDetailTag()))
-                .and(byTagList(Resource_.anatomyLocationTag, criteria.getEndoscopyTag()))
-                .and(byTagList(Resource_.hpTag, criteria.getHpTag()))
-                .and(byTagList(Resource_.lightTag, criteria.getLightTag()))
-                .and(byTagList(Resource_.upperGastroAnatomyTag, criteria.getLocationUpperTag()));
+                .and(byFullText(criteria.getSearchWords(), criteria.getOrderByRelevance()))
+                .and(byTagList(TagCategory.TAG, criteria.getTag()))
+                .and(byTagList(TagCategory.DETAIL_TAG, criteria.getDetailTag()))
+                .and(byTagList(TagCategory.ANATOMY_LOCATION_TAG, criteria.getEndoscopyTag()))
+                .and(byTagList(TagCategory.HP_TAG, criteria.getHpTag()))
+                .and(byTagList(TagCategory.LIGHT_TAG, criteria.getLightTag()))
+                .and(byTagList(TagCategory.UPPER_GASTRO_ANATOMY_TAG, criteria.getLocationUpperTag()));
     }
 
     private Specification<Resource> hasResourceType(final ResourceType resourceType) {
@@ -53,6 +63,56 @@ public class ResourceSpecifications {
                 byAttributeContain(Resource_.title, arg));
     }
 
+    /**
+     * Whether the criteria ask for results ordered by search relevance, in
+     * which case any explicit sort must be dropped for the ordering to apply.
+     */
+    public boolean isRelevanceSearch(final ResourceCriteria criteria) {
+        return Boolean.TRUE.equals(criteria.getOrderByRelevance()) && StringUtils.isNotBlank(toSearchText(
+                criteria.getSearchWords()));
+    }
+
+    /**
+     * Full-text match over title, description and tags through the GIN-indexed
+     * {@code search_vector} column. Every word must match as a prefix, accents
+     * and case are ignored. Optionally orders by {@code ts_rank_cd}, title
+     * hits weighing most.
+     */
+    private Specification<Resource> byFullText(final List<String> searchWords, final Boolean orderByRelevance) {
+        String text = toSearchText(searchWords);
+        if (StringUtils.isBlank(text)) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Subquery<UUID> matches = query.subquery(UUID.class);
+            Root<ResourceSearch> search = matches.from(ResourceSearch.class);
+            matches.select(search.get(ResourceSearch_.id))
+                    .where(builder.isTrue(builder.function("resource_search_matches", Boolean.class,
+                            search.get(ResourceSearch_.searchVector), builder.literal(text))));
+            // Count queries have no use for an ordering
+            if (Boolean.TRUE.equals(orderByRelevance) && !Long.class.equals(query.getResultType())) {
+                Subquery<Float> rank = query.subquery(Float.class);
+                Root<ResourceSearch> ranked = rank.from(ResourceSearch.class);
+                rank.select(builder.function("resource_search_rank", Float.class,
+                                ranked.get(ResourceSearch_.searchVector), builder.literal(text)))
+                        .where(builder.equal(ranked.get(ResourceSearch_.id), root.get(Resource_.id)));
+                query.orderBy(builder.desc(rank), builder.desc(root.get(Resource_.createdAt)),
+                        builder.desc(root.get(Resource_.id)));
+            }
+            return root.get(Resource_.id).in(matches);
+        };
+    }
+
+    private String toSearchText(final List<String> searchWords) {
+        if (CollectionUtils.isEmpty(searchWords)) {
+            return null;
+        }
+        return searchWords.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(String::trim)
+                .collect(Collectors.joining(" "));
+    }
+
     private Specification<Resource> byAttributeContain(
             final SingularAttribute<Resource, String> attribute, final String arg) {
         if (StringUtils.isBlank(arg)) {
@@ -63,23 +123,30 @@ public class ResourceSpecifications {
     }
 
     /**
-     * Filters resources where the tag field contains ANY of the specified tag
-     * values.
-     * Tags are stored as comma-separated strings (e.g., "tag1,tag2,tag3").
-     * This searches for resources that have at least one matching tag.
+     * Filters resources having ANY of the specified tag values in the given
+     * category. Matching is exact and case-insensitive against the normalized
+     * resource_tag table, so each category is a single indexed semi-join.
      */
-    private Specification<Resource> byTagList(
-            final SingularAttribute<Resource, String> attribute, final List<String> tagValues) {
+    private Specification<Resource> byTagList(final TagCategory category, final List<String> tagValues) {
         if (CollectionUtils.isEmpty(tagValues)) {
             return null;
         }
-
-        // Use OR logic: find resources that match ANY of the tag values
-        return tagValues.stream()
-                .map(tagValue -> byAttributeContain(attribute, tagValue))
-                .filter(Objects::nonNull)
-                .reduce(Specification::or)
-                .orElse(null);
+        List<String> tags = tagValues.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(tagValue -> tagValue.trim().toLowerCase())
+                .distinct()
+                .toList();
+        if (tags.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Subquery<UUID> subquery = query.subquery(UUID.class);
+            Root<ResourceTag> resourceTag = subquery.from(ResourceTag.class);
+            subquery.select(resourceTag.get(ResourceTag_.resourceId))
+                    .where(builder.equal(resourceTag.get(ResourceTag_.category), category),
+                            resourceTag.get(ResourceTag_.tag).in(tags));
+            return root.get(Resource_.id).in(subquery);
+        };
     }
 
     private Specification<Resource> isValid() {
@@ -1,21 +1,33 @@
 package com.endo4life.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.endo4life.config.ApplicationProperties;
+import com.endo4life.constant.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
@@ -25,80 +37,126 @@ import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Resolves bearer tokens to a {@link UserContext}. The claims of a token are
+ * parsed once and the result is cached by token hash until the token's
+ * {@code exp}, so a request that reuses a token costs one hash and one
+ * lookup. Tokens without {@code exp} are never cached.
+ */
 @Component
 @Slf4j
 public class TokenProvider {
     private final ApplicationProperties applicationProperties;
     private final JwtParser jwtParser = Jwts.parserBuilder().build();
-    private Set<String> validRoles;
+    private final Map<String, GrantedAuthority> internedAuthorities;
+    private final Cache<String, CachedToken> tokens;
+    private final Timer parseTimer;
 
-    public TokenProvider(ApplicationProperties applicationProperties) {
+    private record CachedToken(UserContext principal, Date expiresAt) {
+    }
+
+    public TokenProvider(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
         this.applicationProperties = applicationProperties;
-        validRoles = Set.of(
+        this.internedAuthorities = Set.of(
                 AuthoritiesConstants.ADMIN,
                 AuthoritiesConstants.SPECIALIST,
                 AuthoritiesConstants.COORDINATOR,
-                AuthoritiesConstants.CUSTOMER);
-    }
+                AuthoritiesConstants.CUSTOMER)
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), SimpleGrantedAuthority::new));
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(Constants.TOKEN_CACHE_SIZE)
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+                        long millis = value.expiresAt().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+                    }
 
-    private boolean isValidRole(String role) {
-        return validRoles.contains(role.toUpperCase());
+                    @Override
+                    public long expireAfterUpdate(String key, CachedToken value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedToken value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "auth.tokens");
+        this.parseTimer = Timer.builder("auth.token.parse")
+                .description("Time spent parsing the claims of a token not yet cached")
+                .register(meterRegistry);
     }
 
     public Authentication getAuthentication(String token) throws BadCredentialsException {
+        String key = hash(token);
+        CachedToken cached = tokens.getIfPresent(key);
+        if (cached == null) {
+            cached = parseTimer.record(() -> parse(token));
+            if (cached.expiresAt() != null) {
+                tokens.put(key, cached);
+            }
+        }
+        UserContext principal = cached.principal();
+        return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CachedToken parse(String token) {
         int index = token.lastIndexOf(46);
         String ut = token.substring(0, index + 1);
         try {
             Claims claims = this.jwtParser.parseClaimsJwt(ut).getBody();
-            ArrayList<GrantedAuthority> authorities = new ArrayList<>();
-
-            List globalAuthorities;
-            List clientAuthorities;
+            List<GrantedAuthority> authorities = new ArrayList<>();
 
-            var realmAcessMap = claims.get("realm_access", LinkedHashMap.class);
-            if (Objects.nonNull(realmAcessMap)) {
-                ArrayList<String> globalRoles = (ArrayList) realmAcessMap.getOrDefault("roles", List.of());
-                if (!CollectionUtils.isEmpty(globalRoles)) {
-                    globalAuthorities = globalRoles.stream()
-                            .map(role -> new SimpleGrantedAuthority(role))
-                            .collect(Collectors.toList());
-                    authorities.addAll(globalAuthorities);
-                }
+            Map<String, Object> realmAccess = (Map<String, Object>) claims.get("realm_access");
+            if (Objects.nonNull(realmAccess)) {
+                addAuthorities(authorities, (List<String>) realmAccess.getOrDefault("roles", List.of()));
             }
 
             String clientId = applicationProperties.keycloakConfiguration().clientId();
-            String sessionId = claims.get("sid", String.class);
             Map<String, Object> resourceAccess = (Map<String, Object>) claims.get("resource_access");
-
-            log.info("Extracting roles for clientId: {}", clientId);
-            log.info("Resource access map: {}", resourceAccess);
-
             if (Objects.nonNull(resourceAccess)) {
                 Map<String, Object> clientRoleMap = (Map<String, Object>) resourceAccess.getOrDefault(clientId,
-                        new LinkedHashMap<>());
-                log.info("Client role map for {}: {}", clientId, clientRoleMap);
-
-                List<String> clientRoles = (List<String>) clientRoleMap.getOrDefault("roles", List.of());
-                log.info("Client roles found: {}", clientRoles);
-
-                if (!CollectionUtils.isEmpty(clientRoles)) {
-                    clientAuthorities = clientRoles.stream()
-                            .map(role -> new SimpleGrantedAuthority(role))
-                            .collect(Collectors.toList());
-                    authorities.addAll(clientAuthorities);
-                }
+                        Map.of());
+                addAuthorities(authorities, (List<String>) clientRoleMap.getOrDefault("roles", List.of()));
             }
-            User principal = new UserContext(
+
+            UserContext principal = new UserContext(
                     (String) claims.get("email"),
                     (String) claims.get("name"),
                     StringUtils.EMPTY,
                     claims.getSubject(),
-                    sessionId,
+                    claims.get("sid", String.class),
                     authorities);
-
-            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+            return new CachedToken(principal, claims.getExpiration());
         } catch (ExpiredJwtException e) {
             throw new BadCredentialsException(e.toString());
         }
     }
+
+    private void addAuthorities(List<GrantedAuthority> authorities, List<String> roles) {
+        if (CollectionUtils.isEmpty(roles)) {
+            return;
+        }
+        for (String role : roles) {
+            GrantedAuthority authority = internedAuthorities.get(role);
+            authorities.add(authority != null ? authority : new SimpleGrantedAuthority(role));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            // Keeps raw tokens out of the heap-resident cache
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.endo4life.service.ai;
 
+import com.endo4life.web.rest.model.AIAnalysisJobDto;
 import com.endo4life.web.rest.model.AIAnalysisRequestDto;
 import com.endo4life.web.rest.model.AIAnalysisResponseDto;
 
@@ -29,6 +30,25 @@ public interface AIAnalysisService {
      */
     AIAnalysisResponseDto analyzeImageByUrl(String imageUrl, AIAnalysisRequestDto request);
 
+    /**
+     * Start analyzing an image on the AI worker pool and return at once.
+     * The finished job is pushed over WebSocket to
+     * {@code /topic/ai-analysis/{jobId}}.
+     * 
+     * @param resourceId The ID of the resource (image) to analyze
+     * @param request    Analysis configuration
+     * @return the pending job
+     */
+    AIAnalysisJobDto startAnalysis(UUID resourceId, AIAnalysisRequestDto request);
+
+    /**
+     * Get a background analysis job, with its result once completed.
+     * 
+     * @param jobId The job id returned by {@link #startAnalysis}
+     * @return the job state
+     */
+    AIAnalysisJobDto getAnalysisJob(UUID jobId);
+
     /**
      * Check if the AI service is available.
      * 
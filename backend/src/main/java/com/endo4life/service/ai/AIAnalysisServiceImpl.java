@@ -1,13 +1,21 @@
 package com.endo4life.service.ai;
 
+import com.endo4life.constant.Constants;
 import com.endo4life.domain.document.Resource;
 import com.endo4life.repository.ResourceRepository;
 import com.endo4life.service.minio.MinioProperties;
+import com.endo4life.service.notification.NotificationService;
+import com.endo4life.web.rest.errors.NotFoundException;
+import com.endo4life.web.rest.errors.ServiceUnavailableException;
+import com.endo4life.web.rest.model.AIAnalysisJobDto;
 import com.endo4life.web.rest.model.AIAnalysisRequestDto;
 import com.endo4life.web.rest.model.AIAnalysisResponseDto;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -16,22 +24,42 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of AI Analysis Service.
- * Communicates with the Python AI service via REST API.
+ * Communicates with the Python AI service via REST API. Background jobs run on
+ * the AI worker pool and are kept in memory until they expire.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AIAnalysisServiceImpl implements AIAnalysisService {
     
     private final ResourceRepository resourceRepository;
     private final MinioProperties minioProperties;
     private final RestTemplate restTemplate;
-    
-    @Value("${ai-service.url:http://localhost:8000}")
-    private String aiServiceUrl;
+    private final NotificationService notificationService;
+    private final Executor aiExecutor;
+    private final Cache<UUID, AIAnalysisJobDto> jobs = Caffeine.newBuilder()
+            .maximumSize(Constants.AI_ANALYSIS_JOB_CACHE_SIZE)
+            .expireAfterWrite(Constants.AI_ANALYSIS_JOB_TTL, TimeUnit.MILLISECONDS)
+            .build();
+    private final AIServiceProperties aiServiceProperties;
+
+    public AIAnalysisServiceImpl(ResourceRepository resourceRepository,
+            MinioProperties minioProperties,
+            RestTemplate restTemplate,
+            NotificationService notificationService,
+            @Qualifier("aiExecutor") Executor aiExecutor,
+            AIServiceProperties aiServiceProperties) {
+        this.resourceRepository = resourceRepository;
+        this.minioProperties = minioProperties;
+        this.restTemplate = restTemplate;
+        this.notificationService = notificationService;
+        this.aiExecutor = aiExecutor;
+        this.aiServiceProperties = aiServiceProperties;
+    }
     
     @Override
     public AIAnalysisResponseDto analyzeImage(UUID resourceId, AIAnalysisRequestDto request) {
@@ -49,7 +77,7 @@ public class AIAnalysisServiceImpl implements AIAnalysisService {
         log.info("Analyzing image: {}", imageUrl);
         
         try {
-            String url = aiServiceUrl + "/api/v1/analyze";
+            String url = aiServiceProperties.getUrl() + "/api/v1/analyze";
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -88,10 +116,57 @@ public class AIAnalysisServiceImpl implements AIAnalysisService {
         }
     }
     
+    @Override
+    public AIAnalysisJobDto startAnalysis(UUID resourceId, AIAnalysisRequestDto request) {
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new IllegalArgumentException("Resource not found: " + resourceId));
+        String imageUrl = buildImageUrl(resource.getPath());
+
+        AIAnalysisJobDto job = new AIAnalysisJobDto()
+                .jobId(UUID.randomUUID())
+                .resourceId(resourceId)
+                .status(AIAnalysisJobDto.StatusEnum.PENDING);
+        jobs.put(job.getJobId(), job);
+        try {
+            aiExecutor.execute(() -> runAnalysis(job.getJobId(), resourceId, imageUrl, request));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.getJobId());
+            throw new ServiceUnavailableException("Too many AI analyses queued, try again later");
+        }
+        log.info("Queued AI analysis job {} for resource {}", job.getJobId(), resourceId);
+        return job;
+    }
+
+    @Override
+    public AIAnalysisJobDto getAnalysisJob(UUID jobId) {
+        AIAnalysisJobDto job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new NotFoundException("Analysis job not found: {0}", jobId);
+        }
+        return job;
+    }
+
+    private void runAnalysis(UUID jobId, UUID resourceId, String imageUrl, AIAnalysisRequestDto request) {
+        AIAnalysisJobDto finished = new AIAnalysisJobDto()
+                .jobId(jobId)
+                .resourceId(resourceId);
+        try {
+            finished.status(AIAnalysisJobDto.StatusEnum.COMPLETED)
+                    .result(analyzeImageByUrl(imageUrl, request));
+        } catch (Exception e) {
+            log.error("AI analysis job {} failed: {}", jobId, e.getMessage());
+            finished.status(AIAnalysisJobDto.StatusEnum.FAILED)
+                    .error(ExceptionUtils.getRootCauseMessage(e));
+        }
+        // Replaced rather than mutated, readers may hold the pending instance
+        jobs.put(jobId, finished);
+        notificationService.notifyAnalysisJob(finished);
+    }
+    
     @Override
     public boolean isServiceHealthy() {
         try {
-            String url = aiServiceUrl + "/health";
+            String url = aiServiceProperties.getUrl() + "/health";
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
             return response.getStatusCode().is2xxSuccessful();
         } catch (Exception e) {
@@ -0,0 +1,22 @@
+package com.endo4life.service.ai;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai-service", ignoreUnknownFields = false)
+public class AIServiceProperties {
+    private String url = "http://localhost:8000";
+
+    // Read timeout of a single AI service call, in milliseconds
+    private long timeout = 120_000;
+
+    // Pooled connections to the AI service; also sizes the async analysis worker pool
+    private int maxConnections = 8;
+
+    private boolean enabled = true;
+}
@@ -18,12 +18,19 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -35,6 +42,7 @@ public class CertificateGeneratorService {
     private static final String FONT_BOLD_PATH = "fonts/NotoSans-Bold.ttf";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final int PREVIEW_DPI = 150; // DPI for preview image
+    private static final float PREVIEW_SCALE = PREVIEW_DPI / 72f; // PDF points to preview pixels
 
     // Certificate dimensions (portrait A4: 595 x 842 points)
     private static final float PAGE_WIDTH = 595f;
@@ -57,6 +65,26 @@ public class CertificateGeneratorService {
         private final byte[] previewImageBytes;
     }
 
+    private enum Align {
+        LEFT, CENTER, RIGHT
+    }
+
+    /**
+     * A line of text in PDF coordinates: points, origin bottom left, y on the baseline.
+     */
+    private record TextLine(String text, float x, float y, float fontSize, boolean bold, Align align) {
+    }
+
+    /**
+     * Template inputs read once. Fonts are kept as bytes because parsed
+     * TrueType fonts are not thread-safe; PDFBox embeds only the used glyphs.
+     */
+    private record TemplateAssets(byte[] background, BufferedImage previewBackground,
+            byte[] regularFont, byte[] boldFont, Font previewRegularFont, Font previewBoldFont) {
+    }
+
+    private volatile TemplateAssets templateAssets;
+
     /**
      * Generate both PDF and preview image for certificate
      */
@@ -64,8 +92,11 @@ public class CertificateGeneratorService {
             throws IOException {
         log.info("Generating certificate PDF and preview for user: {} and course: {}", user.getId(), course.getId());
 
-        byte[] pdfBytes = generateCourseCertificate(user, course, issuedAt);
-        byte[] previewBytes = convertPdfToImage(pdfBytes);
+        TemplateAssets assets = templateAssets();
+        List<TextLine> lines = layout(user, course, issuedAt);
+        byte[] pdfBytes = renderPdf(assets, lines);
+        // Composed directly from the cached background instead of rasterizing the PDF again
+        byte[] previewBytes = renderPreview(assets, lines);
 
         return new CertificateFiles(pdfBytes, previewBytes);
     }
@@ -75,88 +106,155 @@ public class CertificateGeneratorService {
      */
     public byte[] generateCourseCertificate(UserInfo user, Course course, LocalDateTime issuedAt) throws IOException {
         log.info("Generating certificate PDF for user: {} and course: {}", user.getId(), course.getId());
+        return renderPdf(templateAssets(), layout(user, course, issuedAt));
+    }
 
-        // Format user name for certificate
-        String userName = formatUserName(user);
+    private List<TextLine> layout(UserInfo user, Course course, LocalDateTime issuedAt) {
+        return List.of(
+                // User name (large, bold, centered)
+                new TextLine(formatUserName(user), PAGE_WIDTH / 2, USER_NAME_Y, 32, true, Align.CENTER),
+                // Course name (medium, centered)
+                new TextLine(course.getTitle(), PAGE_WIDTH / 2, COURSE_NAME_Y, 16, false, Align.CENTER),
+                // Issue date (bottom left)
+                new TextLine("Ngày cấp: " + issuedAt.format(DATE_FORMATTER), DATE_X, DATE_Y, 11, false, Align.LEFT),
+                // Signature (bottom right)
+                new TextLine("Quản trị viên", SIGNATURE_X, SIGNATURE_Y, 11, false, Align.RIGHT));
+    }
 
+    private byte[] renderPdf(TemplateAssets assets, List<TextLine> lines) throws IOException {
         try (PDDocument document = new PDDocument()) {
             // Create portrait A4 page
             PDPage page = new PDPage(new PDRectangle(PAGE_WIDTH, PAGE_HEIGHT));
             document.addPage(page);
 
-            // Load fonts that support Vietnamese characters
-            PDFont regularFont = loadFont(document, FONT_PATH);
-            PDFont boldFont = loadFont(document, FONT_BOLD_PATH);
+            // Fonts that support Vietnamese characters, subset on save
+            PDFont regularFont = PDType0Font.load(document, new ByteArrayInputStream(assets.regularFont()), true);
+            PDFont boldFont = PDType0Font.load(document, new ByteArrayInputStream(assets.boldFont()), true);
 
             try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                // Draw the certificate template background
-                drawTemplate(document, contentStream);
-
-                // Add user name (large, bold, centered)
-                drawCenteredText(contentStream, userName, USER_NAME_Y, 32, boldFont);
-
-                // Add course name (medium, centered)
-                drawCenteredText(contentStream, course.getTitle(), COURSE_NAME_Y, 16, regularFont);
-
-                // Add issue date (bottom left)
-                String dateText = "Ngày cấp: " + issuedAt.format(DATE_FORMATTER);
-                drawText(contentStream, dateText, DATE_X, DATE_Y, 11, regularFont);
-
-                // Add signature (bottom right)
-                drawRightAlignedText(contentStream, "Quản trị viên", SIGNATURE_X, SIGNATURE_Y, 11, regularFont);
+                // A JPEG template is embedded as is, without decoding it
+                PDImageXObject image = PDImageXObject.createFromByteArray(document, assets.background(),
+                        "certificate-template");
+                contentStream.drawImage(image, 0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+
+                for (TextLine line : lines) {
+                    PDFont font = line.bold() ? boldFont : regularFont;
+                    float textWidth = font.getStringWidth(line.text()) / 1000 * line.fontSize();
+                    drawText(contentStream, line.text(), alignX(line, textWidth), line.y(), line.fontSize(), font);
+                }
             }
 
             // Convert to byte array
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             document.save(outputStream);
-
-            log.info("Certificate PDF generated successfully for user: {}", userName);
             return outputStream.toByteArray();
         }
     }
 
-    /**
-     * Load font that supports Vietnamese characters
-     */
-    private PDFont loadFont(PDDocument document, String fontPath) throws IOException {
+    private byte[] renderPreview(TemplateAssets assets, List<TextLine> lines) throws IOException {
+        BufferedImage background = assets.previewBackground();
+        BufferedImage image = new BufferedImage(background.getWidth(), background.getHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
         try {
-            ClassPathResource fontResource = new ClassPathResource(fontPath);
-            try (InputStream fontStream = fontResource.getInputStream()) {
-                return PDType0Font.load(document, fontStream);
+            graphics.drawImage(background, 0, 0, null);
+            graphics.setColor(Color.BLACK);
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            for (TextLine line : lines) {
+                Font font = (line.bold() ? assets.previewBoldFont() : assets.previewRegularFont())
+                        .deriveFont(line.fontSize() * PREVIEW_SCALE);
+                graphics.setFont(font);
+                float textWidth = (float) font.getStringBounds(line.text(), graphics.getFontRenderContext())
+                        .getWidth() / PREVIEW_SCALE;
+                graphics.drawString(line.text(), alignX(line, textWidth) * PREVIEW_SCALE,
+                        (PAGE_HEIGHT - line.y()) * PREVIEW_SCALE);
             }
-        } catch (IOException e) {
-            log.warn("Failed to load custom font from {}, using fallback", fontPath, e);
-            // Fallback to embedded font if custom font not available
-            return PDType0Font.load(document,
-                    CertificateGeneratorService.class
-                            .getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf"));
+        } finally {
+            graphics.dispose();
         }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "PNG", outputStream);
+        return outputStream.toByteArray();
     }
 
-    /**
-     * Draw certificate template background
-     */
-    private void drawTemplate(PDDocument document, PDPageContentStream contentStream) throws IOException {
-        ClassPathResource resource = new ClassPathResource(TEMPLATE_PATH);
+    private float alignX(TextLine line, float textWidth) {
+        return switch (line.align()) {
+            case LEFT -> line.x();
+            case CENTER -> line.x() - textWidth / 2;
+            case RIGHT -> line.x() - textWidth;
+        };
+    }
 
-        try (InputStream imageStream = resource.getInputStream()) {
-            PDImageXObject image = PDImageXObject.createFromByteArray(document, imageStream.readAllBytes(),
-                    "certificate-template");
+    private TemplateAssets templateAssets() throws IOException {
+        TemplateAssets assets = templateAssets;
+        if (assets == null) {
+            synchronized (this) {
+                assets = templateAssets;
+                if (assets == null) {
+                    // Loaded on first use so a missing asset fails generation, not startup
+                    assets = loadTemplateAssets();
+                    templateAssets = assets;
+                }
+            }
+        }
+        return assets;
+    }
+
+    private TemplateAssets loadTemplateAssets() throws IOException {
+        byte[] background = readClasspath(TEMPLATE_PATH);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(background));
+        if (decoded == null) {
+            throw new IOException("Unreadable certificate template " + TEMPLATE_PATH);
+        }
+        int previewWidth = Math.round(PAGE_WIDTH * PREVIEW_SCALE);
+        int previewHeight = Math.round(PAGE_HEIGHT * PREVIEW_SCALE);
+        BufferedImage previewBackground = new BufferedImage(previewWidth, previewHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = previewBackground.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.drawImage(decoded, 0, 0, previewWidth, previewHeight, null);
+        } finally {
+            graphics.dispose();
+        }
 
-            // Draw image to fill the landscape page
-            contentStream.drawImage(image, 0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+        byte[] regularFont = loadFont(FONT_PATH);
+        byte[] boldFont = loadFont(FONT_BOLD_PATH);
+        try {
+            TemplateAssets assets = new TemplateAssets(background, previewBackground, regularFont, boldFont,
+                    Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(regularFont)),
+                    Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(boldFont)));
+            log.info("Certificate template assets loaded");
+            return assets;
+        } catch (FontFormatException e) {
+            throw new IOException("Invalid certificate font", e);
         }
     }
 
     /**
-     * Draw centered text
+     * Load font that supports Vietnamese characters
      */
-    private void drawCenteredText(PDPageContentStream contentStream, String text,
-            float y, float fontSize, PDFont font) throws IOException {
-        float textWidth = font.getStringWidth(text) / 1000 * fontSize;
-        float x = (PAGE_WIDTH - textWidth) / 2;
+    private byte[] loadFont(String fontPath) throws IOException {
+        try {
+            return readClasspath(fontPath);
+        } catch (IOException e) {
+            log.warn("Failed to load custom font from {}, using fallback", fontPath, e);
+            // Fallback to embedded font if custom font not available
+            try (InputStream fallback = CertificateGeneratorService.class
+                    .getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+                if (fallback == null) {
+                    throw e;
+                }
+                return fallback.readAllBytes();
+            }
+        }
+    }
 
-        drawText(contentStream, text, x, y, fontSize, font);
+    private byte[] readClasspath(String path) throws IOException {
+        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+            return inputStream.readAllBytes();
+        }
     }
 
     /**
@@ -171,20 +269,6 @@ public class CertificateGeneratorService {
         contentStream.endText();
     }
 
-    /**
-     * Draw right-aligned text
-     */
-    private void drawRightAlignedText(PDPageContentStream contentStream, String text,
-            float x, float y, float fontSize, PDFont font) throws IOException {
-        float textWidth = font.getStringWidth(text) / 1000 * fontSize;
-
-        contentStream.beginText();
-        contentStream.setFont(font, fontSize);
-        contentStream.newLineAtOffset(x - textWidth, y);
-        contentStream.showText(text);
-        contentStream.endText();
-    }
-
     private String formatUserName(UserInfo user) {
         StringBuilder name = new StringBuilder();
         if (user.getFirstName() != null) {
@@ -0,0 +1,210 @@
+package com.endo4life.service.certificate;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.domain.document.CertificateJob;
+import com.endo4life.domain.enumeration.CertificateJobStatus;
+import com.endo4life.repository.CertificateJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable queue of course completion certificates backed by the
+ * {@code certificate_job} table. Passing a final exam only records a job in
+ * the submission's transaction; a dispatcher thread claims due jobs and hands
+ * them to the certificate worker pool, retrying failures with exponential
+ * backoff.
+ */
+@Slf4j
+@Component
+public class CertificateIssuanceQueue {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final CertificateJobRepository certificateJobRepository;
+    private final CertificateJobProcessor certificateJobProcessor;
+    private final Executor certificateExecutor;
+    private final ApplicationProperties.CertificateQueue queueConfig;
+
+    private final Semaphore idleWorkers;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Counter enqueued;
+    private final Counter deduplicated;
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer processingTimer;
+    private final Timer latencyTimer;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public CertificateIssuanceQueue(CertificateJobRepository certificateJobRepository,
+            CertificateJobProcessor certificateJobProcessor,
+            @Qualifier("certificateExecutor") Executor certificateExecutor,
+            ApplicationProperties applicationProperties,
+            MeterRegistry meterRegistry) {
+        this.certificateJobRepository = certificateJobRepository;
+        this.certificateJobProcessor = certificateJobProcessor;
+        this.certificateExecutor = certificateExecutor;
+        this.queueConfig = applicationProperties.certificateQueue();
+        this.idleWorkers = new Semaphore(queueConfig.workers());
+
+        Gauge.builder("certificate.issuance.queue.depth", queueDepth, AtomicLong::get)
+                .description("Certificates waiting to be issued")
+                .register(meterRegistry);
+        this.enqueued = meterRegistry.counter("certificate.issuance.jobs", "outcome", "enqueued");
+        this.deduplicated = meterRegistry.counter("certificate.issuance.jobs", "outcome", "deduplicated");
+        this.succeeded = meterRegistry.counter("certificate.issuance.jobs", "outcome", "succeeded");
+        this.retried = meterRegistry.counter("certificate.issuance.jobs", "outcome", "retried");
+        this.failed = meterRegistry.counter("certificate.issuance.jobs", "outcome", "failed");
+        this.processingTimer = Timer.builder("certificate.issuance.processing")
+                .description("Time spent rendering, uploading and saving a single certificate")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("certificate.issuance.latency")
+                .description("Time from passing the final exam to the certificate being issued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a certificate job in the current transaction. Workers are woken
+     * once it commits; a rolled back submission leaves no job behind.
+     */
+    public void enqueue(UUID userInfoId, UUID courseId) {
+        int inserted = certificateJobRepository.enqueue(UUID.randomUUID(), userInfoId, courseId);
+        if (inserted == 0) {
+            log.debug("Certificate for user {} in course {} already queued, skipped", userInfoId, courseId);
+            deduplicated.increment();
+            return;
+        }
+        enqueued.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp.release();
+                }
+            });
+        } else {
+            wakeUp.release();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "certificate-job-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void dispatchLoop() {
+        log.info("Certificate job dispatcher started with {} workers", queueConfig.workers());
+        while (running) {
+            try {
+                if (dispatch() == 0) {
+                    // Sleep until a new job or a free worker, polling for due retries meanwhile
+                    wakeUp.tryAcquire(queueConfig.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to dispatch certificate jobs: {}", e.getMessage());
+                try {
+                    Thread.sleep(queueConfig.pollInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatch() {
+        queueDepth.set(certificateJobRepository.countByStatus(CertificateJobStatus.PENDING));
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return 0;
+        }
+        List<CertificateJob> jobs = certificateJobRepository.claimDue(idle, queueConfig.lease().toSeconds());
+        for (CertificateJob job : jobs) {
+            idleWorkers.acquireUninterruptibly();
+            certificateExecutor.execute(() -> process(job));
+        }
+        return jobs.size();
+    }
+
+    private void process(CertificateJob job) {
+        long start = System.nanoTime();
+        try {
+            certificateJobProcessor.process(job.getUserInfoId(), job.getCourseId());
+            certificateJobRepository.complete(job.getId());
+            succeeded.increment();
+            latencyTimer.record(Duration.between(job.getCreatedAt(), Instant.now()));
+        } catch (Exception e) {
+            onFailure(job, e);
+        } finally {
+            processingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            idleWorkers.release();
+            wakeUp.release();
+        }
+    }
+
+    private void onFailure(CertificateJob job, Exception cause) {
+        String error = StringUtils.abbreviate(ExceptionUtils.getRootCauseMessage(cause), MAX_ERROR_LENGTH);
+        try {
+            if (job.getAttempts() >= queueConfig.maxAttempts()) {
+                log.error("Giving up on certificate for user {} in course {} after {} attempts: {}",
+                        job.getUserInfoId(), job.getCourseId(), job.getAttempts(), error);
+                certificateJobRepository.markFailed(job.getId(), error);
+                failed.increment();
+                return;
+            }
+            Duration delay = backoff(job.getAttempts());
+            log.warn("Issuing certificate for user {} in course {} failed (attempt {}), retrying in {}: {}",
+                    job.getUserInfoId(), job.getCourseId(), job.getAttempts(), delay, error);
+            certificateJobRepository.reschedule(job.getId(), delay.toSeconds(), error);
+            retried.increment();
+        } catch (Exception e) {
+            // The lease expires and the job is retried anyway
+            log.error("Failed to record failure of certificate job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = queueConfig.initialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(queueConfig.maxBackoff()) > 0 ? queueConfig.maxBackoff() : delay;
+    }
+}
@@ -0,0 +1,31 @@
+package com.endo4life.service.certificate;
+
+import com.endo4life.domain.document.Certificate;
+import com.endo4life.service.notification.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Issues a queued course completion certificate. Runs on the certificate
+ * worker pool, never on the HTTP request thread. Failures are thrown so the
+ * queue can retry the job.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CertificateJobProcessor {
+
+    private final CertificateService certificateService;
+    private final NotificationService notificationService;
+
+    public void process(UUID userInfoId, UUID courseId) {
+        // Idempotent: a retry after a partial failure returns the certificate already issued
+        Certificate certificate = certificateService.getOrGenerateCourseCertificate(userInfoId, courseId);
+        log.info("Issued course completion certificate {} for user {} in course {}",
+                certificate.getId(), userInfoId, courseId);
+        notificationService.notifyCertificateIssued(userInfoId, courseId, certificate.getTitle());
+    }
+}
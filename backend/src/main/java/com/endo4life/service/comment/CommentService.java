@@ -2,9 +2,11 @@ package com.endo4life.service.comment;
 
 import java.util.UUID;
 
+import com.endo4life.domain.dto.KeysetPage;
 import com.endo4life.web.rest.model.CommentCriteria;
 import com.endo4life.web.rest.model.CommentResponseDto;
 import com.endo4life.web.rest.model.CreateCommentRequestDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateCommentRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +18,9 @@ public interface CommentService {
         Page<CommentResponseDto> getComments(CommentCriteria criteria,
                         Pageable pageable);
 
+        KeysetPage<CommentResponseDto> getComments(CommentCriteria criteria,
+                        SeekPageRequest seek, int size);
+
         CommentResponseDto updateComment(UUID id, UpdateCommentRequestDto updateCommentRequestDto);
 
         void deleteComment(UUID id);
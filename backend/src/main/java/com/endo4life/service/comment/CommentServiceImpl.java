@@ -1,12 +1,11 @@
 package com.endo4life.service.comment;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import com.endo4life.config.ApplicationProperties;
 import com.endo4life.constant.Constants;
 import com.endo4life.domain.document.Comment;
 import com.endo4life.domain.document.UserInfo;
+import com.endo4life.domain.dto.KeysetPage;
 import com.endo4life.mapper.CommentMapper;
 import com.endo4life.repository.CommentRepository;
 import com.endo4life.repository.CourseRepository;
@@ -14,16 +13,14 @@ import com.endo4life.repository.ResourceRepository;
 import com.endo4life.repository.UserInfoRepository;
 import com.endo4life.repository.specifications.CommentSpecifications;
 import com.endo4life.security.UserContextHolder;
-import com.endo4life.service.minio.MinioService;
-import com.endo4life.service.user.UserInfoService;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.web.rest.errors.BadRequestException;
 import com.endo4life.web.rest.model.CommentCriteria;
 import com.endo4life.web.rest.model.CommentResponseDto;
 import com.endo4life.web.rest.model.CreateCommentRequestDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateCommentRequestDto;
-import com.endo4life.web.rest.model.UserInfoDto;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -31,10 +28,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -47,15 +41,7 @@ public class CommentServiceImpl implements CommentService {
     private final ResourceRepository resourceRepository;
     private final CourseRepository courseRepository;
     private final UserInfoRepository userInfoRepository;
-    private final MinioService minioService;
-    private ApplicationProperties.MinioConfiguration minioConfig;
-    private final ApplicationProperties applicationProperties;
-    private final UserInfoService userInfoService;
-
-    @PostConstruct
-    private void init() {
-        this.minioConfig = applicationProperties.minioConfiguration();
-    }
+    private final CommentTreeAssembler commentTreeAssembler;
 
     @Override
     public UUID createComment(CreateCommentRequestDto createCommentRequestDto) {
@@ -101,64 +87,18 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     public Page<CommentResponseDto> getComments(CommentCriteria criteria, Pageable pageable) {
-        Set<String> setCreatedBy = new HashSet<>();
-        Page<CommentResponseDto> result = commentRepository.findAll(
-                CommentSpecifications.byCriteria(criteria), pageable)
-                .map(commentEntity -> {
-                    String createdBy = commentEntity.getCreatedBy();
-                    if (StringUtils.isNotBlank(createdBy)) {
-                        setCreatedBy.add(createdBy);
-                    }
-                    return commentMapper.toCommentResponseDto(commentEntity);
-                });
-        processUserInfoCreatedBy(result, setCreatedBy);
+        Page<Comment> page = commentRepository.findAll(CommentSpecifications.byCriteria(criteria), pageable);
         return new PageImpl<>(
-                result.getContent(),
+                commentTreeAssembler.assemble(page.getContent()),
                 pageable,
-                result.getTotalElements());
-    }
-
-    private void processUserInfoCreatedBy(Page<CommentResponseDto> result,
-            Set<String> setCreatedBy) {
-        Map<String, UserInfo> userInfoMap = userInfoService.getUserInfoByCreatedBy(setCreatedBy);
-        if (MapUtils.isEmpty(userInfoMap)) {
-            return;
-        }
-        result.getContent()
-                .forEach(comment -> setCreatedByInfoRecursive(comment, userInfoMap));
-    }
-
-    private void setCreatedByInfoRecursive(CommentResponseDto comment, Map<String, UserInfo> userInfoMap) {
-        String createdBy = comment.getCreatedBy();
-        if (userInfoMap.containsKey(createdBy)) {
-            UserInfo userInfo = userInfoMap.get(createdBy);
-            UserInfoDto userInfoDto = convertToUserInfoDto(userInfo);
-            comment.setCreatedByInfo(userInfoDto);
-        }
-
-        if (CollectionUtils.isNotEmpty(comment.getReplies())) {
-            comment.getReplies().forEach(reply -> setCreatedByInfoRecursive(reply, userInfoMap));
-        }
+                page.getTotalElements());
     }
 
-    private UserInfoDto convertToUserInfoDto(UserInfo userInfoEntity) {
-        UserInfoDto userInfoDto = new UserInfoDto();
-        userInfoDto.setId(userInfoEntity.getId());
-        userInfoDto.setFirstName(userInfoEntity.getFirstName());
-        userInfoDto.setLastName(userInfoEntity.getLastName());
-        userInfoDto.setEmail(userInfoEntity.getEmail());
-
-        // Set avatar URL only if avatar path exists
-        if (StringUtils.isNotBlank(userInfoEntity.getAvatarPath())) {
-            String avatarUrl = minioService.createGetPreSignedLink(
-                    userInfoEntity.getAvatarPath(),
-                    minioConfig.bucketAvatar());
-            if (StringUtils.isNotBlank(avatarUrl)) {
-                userInfoDto.setAvatarUrl(avatarUrl);
-            }
-        }
-
-        return userInfoDto;
+    @Override
+    public KeysetPage<CommentResponseDto> getComments(CommentCriteria criteria, SeekPageRequest seek, int size) {
+        KeysetPage<Comment> page = KeysetPageUtil.findPage(commentRepository,
+                CommentSpecifications.byCriteria(criteria), seek, size, "user");
+        return new KeysetPage<>(commentTreeAssembler.assemble(page.content()), page.nextCursor(), page.total());
     }
 
     @Override
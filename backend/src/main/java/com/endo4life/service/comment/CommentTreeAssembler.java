@@ -0,0 +1,114 @@
+package com.endo4life.service.comment;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.domain.document.Comment;
+import com.endo4life.domain.document.UserInfo;
+import com.endo4life.mapper.CommentMapper;
+import com.endo4life.repository.CommentRepository;
+import com.endo4life.service.minio.MinioService;
+import com.endo4life.service.user.UserInfoService;
+import com.endo4life.web.rest.model.CommentResponseDto;
+import com.endo4life.web.rest.model.UserInfoDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the comment trees of a page with a fixed amount of work whatever the
+ * thread depth: one query for the ids of all replies, one to load them, one
+ * for the distinct authors, and one signing per distinct avatar and
+ * attachment.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentTreeAssembler {
+
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
+    private final UserInfoService userInfoService;
+    private final MinioService minioService;
+    private final ApplicationProperties applicationProperties;
+
+    public List<CommentResponseDto> assemble(List<Comment> roots) {
+        if (roots.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> descendantIds = commentRepository.findDescendantIds(
+                roots.stream().map(Comment::getId).toList());
+        List<Comment> descendants = descendantIds.isEmpty()
+                ? List.of()
+                : commentRepository.findAllWithUserByIdIn(descendantIds);
+        List<Comment> comments = Stream.concat(roots.stream(), descendants.stream()).toList();
+
+        Map<String, UserInfoDto> authors = resolveAuthors(comments);
+        Map<String, String> attachmentUrls = signAttachments(comments);
+
+        // Descendants come ordered by creation, so each reply list keeps that order
+        Map<UUID, List<Comment>> repliesByParent = descendants.stream()
+                .collect(Collectors.groupingBy(reply -> reply.getParentComment().getId()));
+        return roots.stream()
+                .map(root -> toNode(root, repliesByParent, authors, attachmentUrls))
+                .collect(Collectors.toList());
+    }
+
+    private CommentResponseDto toNode(Comment comment, Map<UUID, List<Comment>> repliesByParent,
+            Map<String, UserInfoDto> authors, Map<String, String> attachmentUrls) {
+        CommentResponseDto dto = commentMapper.toCommentNode(comment);
+        dto.setCreatedByInfo(authors.get(comment.getCreatedBy()));
+        dto.setAttachments(comment.getAttachments().stream()
+                .map(attachmentUrls::get)
+                .collect(Collectors.toList()));
+        dto.setReplies(repliesByParent.getOrDefault(comment.getId(), List.of()).stream()
+                .map(reply -> toNode(reply, repliesByParent, authors, attachmentUrls))
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    private Map<String, UserInfoDto> resolveAuthors(List<Comment> comments) {
+        Set<String> emails = comments.stream()
+                .map(Comment::getCreatedBy)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toSet());
+        Map<String, UserInfo> userInfoMap = userInfoService.getUserInfoByCreatedBy(emails);
+        return userInfoMap.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> toUserInfoDto(entry.getValue())));
+    }
+
+    private UserInfoDto toUserInfoDto(UserInfo userInfoEntity) {
+        UserInfoDto userInfoDto = new UserInfoDto();
+        userInfoDto.setId(userInfoEntity.getId());
+        userInfoDto.setFirstName(userInfoEntity.getFirstName());
+        userInfoDto.setLastName(userInfoEntity.getLastName());
+        userInfoDto.setEmail(userInfoEntity.getEmail());
+
+        // Set avatar URL only if avatar path exists
+        if (StringUtils.isNotBlank(userInfoEntity.getAvatarPath())) {
+            String avatarUrl = minioService.createGetPreSignedLink(
+                    userInfoEntity.getAvatarPath(),
+                    applicationProperties.minioConfiguration().bucketAvatar());
+            if (StringUtils.isNotBlank(avatarUrl)) {
+                userInfoDto.setAvatarUrl(avatarUrl);
+            }
+        }
+
+        return userInfoDto;
+    }
+
+    private Map<String, String> signAttachments(List<Comment> comments) {
+        String bucket = applicationProperties.minioConfiguration().bucketImage();
+        return comments.stream()
+                .flatMap(comment -> comment.getAttachments().stream())
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                        attachment -> minioService.createGetPreSignedLink(attachment, bucket)));
+    }
+}
@@ -12,6 +12,8 @@ import com.endo4life.repository.TestRepository;
 import com.endo4life.repository.UserRegistrationCourseRepository;
 import com.endo4life.repository.specifications.CourseSpecifications;
 import com.endo4life.security.UserContextHolder;
+import com.endo4life.service.viewcount.ViewCountAggregator;
+import com.endo4life.service.viewcount.ViewCountAggregator.ViewTarget;
 import com.endo4life.utils.StringUtil;
 import com.endo4life.web.rest.model.CourseCriteria;
 import com.endo4life.web.rest.model.CourseDetailResponseDto;
@@ -44,6 +46,7 @@ public class CourseServiceImpl implements CourseService {
     private final UserRegistrationCourseRepository userRegistrationCourseRepository;
     private final TestRepository testRepository;
     private final CommentRepository commentRepository;
+    private final ViewCountAggregator viewCountAggregator;
 
     @Override
     public Page<CourseResponseDto> getCourses(CourseCriteria criteria, Pageable pageable) {
@@ -73,16 +76,15 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CourseDetailResponseDto getCourseById(UUID id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Course not found with id: " + id));
-        if (Objects.isNull(course.getViewNumber())) {
-            course.setViewNumber(Constants.INITIALIZE_VIEW_COUNT);
-        } else {
-            course.setViewNumber(course.getViewNumber() + Constants.INITIALIZE_VIEW_COUNT);
-        }
-        courseRepository.save(course);
+        // The view is persisted by the aggregator's next flush
+        viewCountAggregator.recordView(ViewTarget.COURSE, id);
         CourseDetailResponseDto detailCourseDto = courseMapper.toCourseDetailResponseDto(course);
+        detailCourseDto.setViewNumber(Objects.requireNonNullElse(course.getViewNumber(), 0)
+                + viewCountAggregator.pendingViews(ViewTarget.COURSE, id));
         detailCourseDto.setTags(StringUtil.convertStringToList(course.getTags()));
         detailCourseDto.setTagsDetail(StringUtil.convertStringToList(course.getTagsDetail()));
         return detailCourseDto;
@@ -4,6 +4,7 @@ import com.endo4life.web.rest.model.CreateDoctorUserConversationDto;
 import com.endo4life.web.rest.model.DoctorUserConversationCriteria;
 import com.endo4life.web.rest.model.DoctorUserConversationResponseDto;
 import com.endo4life.web.rest.model.DoctorUserConversationResponsePaginatedDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateDoctorUserConversationDto;
 import org.springframework.data.domain.Pageable;
 
@@ -15,6 +16,11 @@ public interface DoctorUserConversationService {
             DoctorUserConversationCriteria criteria,
             Pageable pageable);
 
+    DoctorUserConversationResponsePaginatedDto getConversations(
+            DoctorUserConversationCriteria criteria,
+            SeekPageRequest seek,
+            int size);
+
     UUID createConversation(CreateDoctorUserConversationDto dto);
 
     DoctorUserConversationResponseDto getConversationById(UUID id);
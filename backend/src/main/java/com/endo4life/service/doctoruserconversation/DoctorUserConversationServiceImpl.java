@@ -4,6 +4,7 @@ import com.endo4life.constant.Constants;
 import com.endo4life.domain.document.DoctorUserConversations;
 import com.endo4life.domain.document.Resource;
 import com.endo4life.domain.document.UserInfo;
+import com.endo4life.domain.dto.KeysetPage;
 import com.endo4life.mapper.DoctorUserConversationMapper;
 import com.endo4life.repository.DoctorUserConversationRepository;
 import com.endo4life.repository.ResourceRepository;
@@ -13,6 +14,7 @@ import com.endo4life.security.SecurityService;
 import com.endo4life.security.UserContextHolder;
 import com.endo4life.service.minio.MinioService;
 import com.endo4life.service.notification.NotificationService;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.web.rest.errors.BadRequestException;
 import com.endo4life.web.rest.model.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -28,10 +30,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -62,14 +68,28 @@ public class DoctorUserConversationServiceImpl implements DoctorUserConversation
         Page<DoctorUserConversations> page = conversationRepository.findAll(spec, finalPageable);
 
         DoctorUserConversationResponsePaginatedDto result = new DoctorUserConversationResponsePaginatedDto();
-        result.setData(page.getContent().stream()
-                .map(this::toResponseDtoWithReplies)
-                .collect(Collectors.toList()));
+        result.setData(toThreads(page.getContent()));
         result.setTotal(page.getTotalElements());
 
         return result;
     }
 
+    @Override
+    public DoctorUserConversationResponsePaginatedDto getConversations(
+            DoctorUserConversationCriteria criteria,
+            SeekPageRequest seek,
+            int size) {
+        KeysetPage<DoctorUserConversations> page = KeysetPageUtil.findPage(conversationRepository,
+                buildSpecification(criteria), seek, size, "questioner", "assignee", "resource", "parent");
+
+        DoctorUserConversationResponsePaginatedDto result = new DoctorUserConversationResponsePaginatedDto();
+        result.setData(toThreads(page.content()));
+        result.setTotal(page.total());
+        result.setNextCursor(page.nextCursor());
+
+        return result;
+    }
+
     @Override
     public UUID createConversation(CreateDoctorUserConversationDto dto) {
         // Get authenticated user from JWT - this is the questioner
@@ -166,9 +186,9 @@ public class DoctorUserConversationServiceImpl implements DoctorUserConversation
 
     @Override
     public DoctorUserConversationResponseDto getConversationById(UUID id) {
-        DoctorUserConversations conversation = conversationRepository.findById(id)
+        DoctorUserConversations conversation = conversationRepository.findWithParticipantsById(id)
                 .orElseThrow(() -> new BadRequestException("Conversation not found with id {0}", id));
-        return toResponseDtoWithReplies(conversation);
+        return toThreads(List.of(conversation)).get(0);
     }
 
     @Override
@@ -275,7 +295,57 @@ public class DoctorUserConversationServiceImpl implements DoctorUserConversation
         };
     }
 
-    private DoctorUserConversationResponseDto toResponseDtoWithReplies(DoctorUserConversations conversation) {
+    /**
+     * Materializes the reply trees of the given conversations with a fixed
+     * number of queries: one recursive lookup for all descendant ids and one
+     * fetch of those rows. The trees are assembled in memory and every distinct
+     * attachment is signed once.
+     */
+    private List<DoctorUserConversationResponseDto> toThreads(List<DoctorUserConversations> roots) {
+        if (roots.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> rootIds = roots.stream().map(DoctorUserConversations::getId).toList();
+        List<UUID> descendantIds = conversationRepository.findDescendantIds(rootIds);
+        List<DoctorUserConversations> descendants = descendantIds.isEmpty()
+                ? List.of()
+                : conversationRepository.findAllWithParticipantsByIdIn(descendantIds);
+
+        // Descendants come ordered by creation, so each reply list keeps that order
+        Map<UUID, List<DoctorUserConversations>> repliesByParent = descendants.stream()
+                .collect(Collectors.groupingBy(reply -> reply.getParent().getId()));
+
+        Map<UUID, List<String>> attachmentKeys = new HashMap<>();
+        Stream.concat(roots.stream(), descendants.stream())
+                .forEach(conversation -> attachmentKeys.put(conversation.getId(), parseAttachmentKeys(conversation)));
+        Map<String, String> presignedUrls = attachmentKeys.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                        key -> minioService.createGetPreSignedLink(key, "images")));
+
+        return roots.stream()
+                .map(root -> toResponseDtoWithReplies(root, repliesByParent, attachmentKeys, presignedUrls))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> parseAttachmentKeys(DoctorUserConversations conversation) {
+        if (conversation.getAttachmentUrls() == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(conversation.getAttachmentUrls(), new TypeReference<List<String>>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing attachment URLs", e);
+            return List.of();
+        }
+    }
+
+    private DoctorUserConversationResponseDto toResponseDtoWithReplies(DoctorUserConversations conversation,
+            Map<UUID, List<DoctorUserConversations>> repliesByParent,
+            Map<UUID, List<String>> attachmentKeys,
+            Map<String, String> presignedUrls) {
         DoctorUserConversationResponseDto dto = mapper.toResponseDto(conversation);
 
         // Set timestamps
@@ -286,30 +356,12 @@ public class DoctorUserConversationServiceImpl implements DoctorUserConversation
             dto.setUpdatedAt(conversation.getUpdatedAt().atOffset(java.time.ZoneOffset.UTC));
         }
 
-        // Convert JSON attachment URLs to array
-        if (conversation.getAttachmentUrls() != null) {
-            try {
-                List<String> objectKeys = objectMapper.readValue(
-                        conversation.getAttachmentUrls(),
-                        new TypeReference<List<String>>() {
-                        });
-                // Generate presigned URLs
-                List<String> presignedUrls = objectKeys.stream()
-                        .map(key -> minioService.createGetPreSignedLink(key, "images"))
-                        .collect(Collectors.toList());
-                dto.setAttachmentUrls(presignedUrls);
-            } catch (JsonProcessingException e) {
-                log.error("Error parsing attachment URLs", e);
-                dto.setAttachmentUrls(new ArrayList<>());
-            }
-        } else {
-            dto.setAttachmentUrls(new ArrayList<>());
-        }
+        dto.setAttachmentUrls(attachmentKeys.getOrDefault(conversation.getId(), List.of()).stream()
+                .map(presignedUrls::get)
+                .collect(Collectors.toList()));
 
-        // Load replies recursively
-        List<DoctorUserConversations> replies = conversationRepository.findByParentId(conversation.getId());
-        dto.setReplies(replies.stream()
-                .map(this::toResponseDtoWithReplies)
+        dto.setReplies(repliesByParent.getOrDefault(conversation.getId(), List.of()).stream()
+                .map(reply -> toResponseDtoWithReplies(reply, repliesByParent, attachmentKeys, presignedUrls))
                 .collect(Collectors.toList()));
 
         return dto;
@@ -0,0 +1,72 @@
+package com.endo4life.service.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@link MultipartFile} view over a single archive entry. Content is never held
+ * in memory: every call to {@link #getInputStream()} re-opens the entry from the
+ * spooled archive on disk.
+ */
+@RequiredArgsConstructor
+public class ArchiveEntryMultipartFile implements MultipartFile {
+
+    @FunctionalInterface
+    public interface EntrySource {
+        InputStream open() throws IOException;
+    }
+
+    private final String fileName;
+    private final String contentType;
+    private final long size;
+    private final EntrySource source;
+
+    @Override
+    public String getName() {
+        return fileName;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return fileName;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream inputStream = source.open()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return source.open();
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try (InputStream inputStream = source.open()) {
+            Files.copy(inputStream, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,25 +1,30 @@
 package com.endo4life.service.file;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import com.endo4life.domain.dto.ExtractedFile;
-import com.endo4life.web.rest.model.CreateResourceRequestDto;
+import com.endo4life.domain.dto.ExtractedArchive;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
 
     void deleteUploadedFiles(final Collection<String> fileName, Collection<String> bucketNames);
 
-    Map<ExtractedFile, CreateResourceRequestDto> processCompressedFile(MultipartFile file);
+    /**
+     * Spool a ZIP/RAR object from MinIO to disk and map its entries to the CSV
+     * manifest. Entries are read lazily, so the returned archive must be closed.
+     */
+    ExtractedArchive processCompressedFile(String bucket, String objectKey);
 
     Set<String> uploadFiles(List<MultipartFile> files, UUID userId, String bucketName);
 
     void deleteUploadedFiles(final Collection<String> fileNames, String bucketName);
 
-    void createAndUploadThumbnail(MultipartFile file,
-            String dimension,
-            String templateName);
+    /**
+     * Render every size in {@link com.endo4life.constant.Constants#THUMBNAIL_SIZES}
+     * from one decode of the file and upload them to the thumbnail bucket.
+     */
+    void createAndUploadThumbnails(MultipartFile file) throws IOException;
 }
@@ -6,13 +6,15 @@ import com.github.junrar.Archive;
 import com.github.junrar.exception.RarException;
 import com.github.junrar.rarfile.FileHeader;
 import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -30,14 +32,14 @@ import java.util.stream.IntStream;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import com.endo4life.config.ApplicationProperties;
 import com.endo4life.constant.Constants;
+import com.endo4life.domain.dto.ExtractedArchive;
 import com.endo4life.domain.dto.ExtractedFile;
 import com.endo4life.service.minio.MinioService;
+import com.endo4life.service.thumbnail.ThumbnailEngine;
 import com.endo4life.utils.FileUtil;
-import com.endo4life.utils.ResourceUtil;
 import com.endo4life.web.rest.errors.FileUploadFailedException;
 import com.endo4life.web.rest.model.CreateResourceRequestDto;
 import com.endo4life.web.rest.model.ResourceState;
@@ -45,7 +47,6 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -60,14 +61,17 @@ public class FileServiceImpl implements FileService {
 
     private final Executor taskExecutor;
     private final MinioService minioService;
+    private final ThumbnailEngine thumbnailEngine;
     private final ApplicationProperties applicationProperties;
     private ApplicationProperties.MinioConfiguration minioConfig;
 
     public FileServiceImpl(@Qualifier("taskExecutor") Executor taskExecutor,
                            MinioService minioService,
+                           ThumbnailEngine thumbnailEngine,
                            ApplicationProperties applicationProperties) {
         this.taskExecutor = taskExecutor;
         this.minioService = minioService;
+        this.thumbnailEngine = thumbnailEngine;
         this.applicationProperties = applicationProperties;
     }
 
@@ -94,47 +98,53 @@ public class FileServiceImpl implements FileService {
         }
     }
 
-    @SneakyThrows
     @Override
-    public Map<ExtractedFile, CreateResourceRequestDto> processCompressedFile(MultipartFile file) {
-        Map<ExtractedFile, CreateResourceRequestDto> fileDtoMap = new LinkedHashMap<>();
-        String fileExtension = FileUtil.getCompressedFileExtension(file.getOriginalFilename());
-        File tempFile = File.createTempFile("compressed", fileExtension);
-
-        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-            fos.write(file.getBytes());
+    public ExtractedArchive processCompressedFile(String bucket, String objectKey) {
+        String fileExtension = FileUtil.getCompressedFileExtension(objectKey);
+        Path spoolDir = null;
+        try {
+            // Spool the archive straight from MinIO to disk; entries are then read lazily
+            spoolDir = Files.createTempDirectory("compressed");
+            Path archivePath = spoolDir.resolve("archive" + fileExtension);
+            try (InputStream stream = minioService.getFile(bucket, objectKey)) {
+                if (stream == null) {
+                    throw new IOException("Object not found: " + objectKey);
+                }
+                Files.copy(stream, archivePath, StandardCopyOption.REPLACE_EXISTING);
+            }
 
             // Process based on the file type (ZIP or RAR)
-            if (".zip".equals(fileExtension)) {
-                processZipFile(tempFile, fileDtoMap);
-            } else if (".rar".equals(fileExtension)) {
-                processRarFile(tempFile, fileDtoMap);
+            if (".rar".equals(fileExtension)) {
+                return processRarFile(archivePath, spoolDir);
             }
-
-            FileUtil.deleteFile(tempFile); // Cleanup temporary file
-        } catch (IOException e) {
+            return processZipFile(archivePath, spoolDir);
+        } catch (IOException | RarException e) {
             log.error("Failed to process compressed file: {}", e.getMessage());
+            // Nothing was extracted; closing the empty archive removes the spooled copy
+            ExtractedArchive failed = ExtractedArchive.empty(spoolDir);
+            failed.close();
+            return failed;
         }
-
-        return fileDtoMap;
     }
 
-    private void processZipFile(File tempFile,
-            Map<ExtractedFile, CreateResourceRequestDto> extractedFileMap) {
-        try (ZipFile zipFile = new ZipFile(tempFile)) {
-            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+    private ExtractedArchive processZipFile(Path archivePath, Path spoolDir) throws IOException {
+        ZipFile zipFile = new ZipFile(archivePath.toFile());
+        try {
+            ExtractedArchive archive = ExtractedArchive.of(zipFile, spoolDir);
 
             // Identify and process the CSV file first
-            Optional<ZipArchiveEntry> csvEntry = findCsvEntry(entries);
+            Optional<ZipArchiveEntry> csvEntry = findCsvEntry(zipFile.getEntries());
             if (csvEntry.isPresent()) {
-                InputStream csvStream = zipFile.getInputStream(csvEntry.get());
-                Map<String, CreateResourceRequestDto> fileMetadataMap = processCsv(csvStream);
+                Map<String, CreateResourceRequestDto> fileMetadataMap = processCsv(
+                        zipFile.getInputStream(csvEntry.get()));
 
                 // Process other files and map to metadata
-                processNonCsvEntries(zipFile, fileMetadataMap, extractedFileMap);
+                processNonCsvEntries(zipFile, fileMetadataMap, archive.getFiles());
             }
+            return archive;
         } catch (IOException e) {
-            log.error("Failed to process ZIP file: {}", e.getMessage());
+            zipFile.close();
+            throw e;
         }
     }
 
@@ -152,42 +162,55 @@ public class FileServiceImpl implements FileService {
                 .forEach(entry -> processZipEntry(zipFile, entry, fileMetadataMap, fileDtoMap));
     }
 
-    private void processRarFile(File rarFile,
-            Map<ExtractedFile, CreateResourceRequestDto> fileDtoMap) {
-        try (Archive archive = new Archive(rarFile)) {
+    private ExtractedArchive processRarFile(Path archivePath, Path spoolDir)
+            throws IOException, RarException {
+        try (Archive archive = new Archive(archivePath.toFile())) {
             if (archive.isEncrypted()) {
                 throw new IOException("Cannot process encrypted RAR files.");
             }
+            ExtractedArchive extractedArchive = ExtractedArchive.of(null, spoolDir);
+            List<FileHeader> fileHeaders = archive.getFileHeaders().stream()
+                    .filter(fileHeader -> !fileHeader.isDirectory())
+                    .toList();
 
-            Map<String, CreateResourceRequestDto> fileMetadataMap = new HashMap<>();
-            FileHeader fileHeader;
+            // Identify and process the CSV file first
+            Optional<FileHeader> csvHeader = fileHeaders.stream()
+                    .filter(fileHeader -> fileHeader.getFileNameString().trim().endsWith(".csv"))
+                    .findFirst();
+            if (csvHeader.isEmpty()) {
+                return extractedArchive;
+            }
+            Map<String, CreateResourceRequestDto> fileMetadataMap;
+            try (InputStream csvStream = archive.getInputStream(csvHeader.get())) {
+                fileMetadataMap = processCsv(csvStream);
+            }
 
-            // Iterate over RAR entries
-            while ((fileHeader = archive.nextFileHeader()) != null) {
-                if (!fileHeader.isDirectory()) {
-                    processRarEntry(archive, fileHeader, fileMetadataMap, fileDtoMap);
-                }
+            // RAR entries cannot be opened independently, so matching entries are
+            // extracted next to the spooled archive and served from disk
+            for (FileHeader fileHeader : fileHeaders) {
+                processRarEntry(archive, fileHeader, spoolDir, fileMetadataMap,
+                        extractedArchive.getFiles());
             }
-        } catch (IOException | RarException e) {
-            log.error("Failed to process RAR file: {}", e.getMessage());
+            return extractedArchive;
         }
     }
 
-    private void processRarEntry(Archive archive, FileHeader fileHeader,
+    private void processRarEntry(Archive archive, FileHeader fileHeader, Path spoolDir,
             Map<String, CreateResourceRequestDto> fileMetadataMap,
             Map<ExtractedFile, CreateResourceRequestDto> fileDtoMap) {
         String fileName = fileHeader.getFileNameString().trim();
-
-        try (InputStream fileStream = archive.getInputStream(fileHeader)) {
-            if (fileName.endsWith(".csv")) {
-                fileMetadataMap = processCsv(fileStream);
-            } else if (fileMetadataMap.containsKey(fileName)) {
-                MultipartFile multipartFile = new MockMultipartFile(
-                        fileName, fileName, getContentType(fileName), fileStream);
-                fileDtoMap.put(ExtractedFile.builder().file(multipartFile).build(),
-                        fileMetadataMap.get(fileName));
-            }
-        } catch (IOException e) {
+        if (!fileMetadataMap.containsKey(fileName)) {
+            return;
+        }
+        Path entryPath = spoolDir.resolve(UUID.randomUUID().toString());
+        try (OutputStream outputStream = Files.newOutputStream(entryPath)) {
+            archive.extractFile(fileHeader, outputStream);
+            MultipartFile multipartFile = new ArchiveEntryMultipartFile(
+                    fileName, getContentType(fileName), Files.size(entryPath),
+                    () -> Files.newInputStream(entryPath));
+            fileDtoMap.put(ExtractedFile.builder().file(multipartFile).build(),
+                    fileMetadataMap.get(fileName));
+        } catch (IOException | RarException e) {
             log.error("Error processing RAR entry: {}", e.getMessage());
         }
     }
@@ -306,40 +329,42 @@ public class FileServiceImpl implements FileService {
     private void processZipEntry(ZipFile zipFile, ZipArchiveEntry zipEntry,
             Map<String, CreateResourceRequestDto> fileMetadataMap,
             Map<ExtractedFile, CreateResourceRequestDto> extractedFileMap) {
-        try (InputStream inputStream = zipFile.getInputStream(zipEntry)) {
-
-            String fileName = zipEntry.getName();
-            if (fileName.startsWith("__MACOSX") || fileName.startsWith("._")) {
-                log.info("Skipping macOS metadata file: {}", fileName);
-                return;
-            }
-            String baseFileName = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.'))
-                    : fileName;
-            String keyFileName = fileName.contains("/") ? fileName.substring(fileName.lastIndexOf('/') + 1)
-                    : fileName;
-            // Process image/video files
-            if (fileMetadataMap.containsKey(keyFileName)) {
-                MultipartFile multipartFile = new MockMultipartFile(
-                        keyFileName, keyFileName, getContentType(keyFileName), inputStream);
-
-                // Check if JSON file exists for this entry
-                ZipArchiveEntry jsonEntry = zipFile.getEntry(baseFileName + ".json");
-                List<String> tags = new ArrayList<>();
-                if (jsonEntry != null) {
-                    try (InputStream jsonStream = zipFile.getInputStream(jsonEntry)) {
-                        tags = extractTagsFromJson(
-                                jsonStream); // Use updated method to extract display names
-                    }
+        String fileName = zipEntry.getName();
+        if (fileName.startsWith("__MACOSX") || fileName.startsWith("._")) {
+            log.info("Skipping macOS metadata file: {}", fileName);
+            return;
+        }
+        String baseFileName = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.'))
+                : fileName;
+        String keyFileName = fileName.contains("/") ? fileName.substring(fileName.lastIndexOf('/') + 1)
+                : fileName;
+        // Process image/video files
+        if (!fileMetadataMap.containsKey(keyFileName)) {
+            return;
+        }
+        try {
+            // The entry is re-opened from the spooled archive whenever it is read
+            MultipartFile multipartFile = new ArchiveEntryMultipartFile(
+                    keyFileName, getContentType(keyFileName), zipEntry.getSize(),
+                    () -> zipFile.getInputStream(zipEntry));
+
+            // Check if JSON file exists for this entry
+            ZipArchiveEntry jsonEntry = zipFile.getEntry(baseFileName + ".json");
+            List<String> tags = new ArrayList<>();
+            if (jsonEntry != null) {
+                try (InputStream jsonStream = zipFile.getInputStream(jsonEntry)) {
+                    tags = extractTagsFromJson(
+                            jsonStream); // Use updated method to extract display names
                 }
+            }
 
-                // Create and map the ExtractedFile, even if JSON doesn't exist
-                ExtractedFile extractedFile = ExtractedFile.builder()
-                        .file(multipartFile)
-                        .tag(tags) // Will be an empty list if no JSON file exists
-                        .build();
+            // Create and map the ExtractedFile, even if JSON doesn't exist
+            ExtractedFile extractedFile = ExtractedFile.builder()
+                    .file(multipartFile)
+                    .tag(tags) // Will be an empty list if no JSON file exists
+                    .build();
 
-                extractedFileMap.put(extractedFile, fileMetadataMap.get(keyFileName));
-            }
+            extractedFileMap.put(extractedFile, fileMetadataMap.get(keyFileName));
         } catch (IOException e) {
             log.error("Failed to process ZIP entry: {}", e.getMessage());
         }
@@ -410,20 +435,20 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public void createAndUploadThumbnail(MultipartFile file,
-            String dimension,
-            String templateName) {
+    public void createAndUploadThumbnails(MultipartFile file) throws IOException {
         String originalName = file.getOriginalFilename();
         // Strip extension if present (e.g., "uuid.png" -> "uuid")
         String baseName = originalName != null && originalName.contains(".") 
                 ? originalName.substring(0, originalName.lastIndexOf("."))
                 : originalName;
-        String thumbnailName = templateName + baseName;
-        MultipartFile thumbnail = FileUtil.toMultipartFile(
-                ResourceUtil.generateThumbnail(file, dimension),
-                thumbnailName,
-                Constants.THUMBNAIL_CONTENT_TYPE);
-        log.info("generate thumbnail with name: {}", thumbnailName);
-        minioService.uploadFile(thumbnail, minioConfig.bucketThumbnail(), thumbnailName);
+        for (Map.Entry<String, byte[]> rendered : thumbnailEngine.render(file).entrySet()) {
+            String thumbnailName = rendered.getKey() + baseName;
+            MultipartFile thumbnail = FileUtil.toMultipartFile(
+                    rendered.getValue(),
+                    thumbnailName,
+                    thumbnailEngine.getContentType());
+            log.info("generate thumbnail with name: {}", thumbnailName);
+            minioService.uploadFile(thumbnail, minioConfig.bucketThumbnail(), thumbnailName);
+        }
     }
 }
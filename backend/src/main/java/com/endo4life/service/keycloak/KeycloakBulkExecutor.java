@@ -0,0 +1,111 @@
+package com.endo4life.service.keycloak;
+
+import com.endo4life.constant.Constants;
+import com.endo4life.domain.dto.BulkResult;
+import com.endo4life.service.notification.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies a Keycloak admin call to many items with at most
+ * {@link Constants#KEYCLOAK_BULK_PARALLELISM} calls in flight, on the shared
+ * admin client. A failing item is recorded and the rest of the batch goes on.
+ * When a session id is given, progress is pushed to
+ * {@code /topic/bulk-progress/{sessionId}}.
+ */
+@Slf4j
+@Component
+public class KeycloakBulkExecutor {
+
+    // Roughly this many progress messages per run, whatever its size
+    private static final int PROGRESS_STEPS = 20;
+
+    private final Executor keycloakExecutor;
+    private final NotificationService notificationService;
+
+    public KeycloakBulkExecutor(@Qualifier("keycloakExecutor") Executor keycloakExecutor,
+            NotificationService notificationService) {
+        this.keycloakExecutor = keycloakExecutor;
+        this.notificationService = notificationService;
+    }
+
+    public <T> BulkResult<T> execute(String operation, List<T> items, Function<T, String> keyOf,
+            Consumer<T> action, String sessionId) {
+        int total = items.size();
+        int progressStep = Math.max(1, total / PROGRESS_STEPS);
+        boolean[] done = new boolean[total];
+        Map<String, String> failures = new LinkedHashMap<>();
+        AtomicInteger processed = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(Constants.KEYCLOAK_BULK_PARALLELISM);
+        // Workers act as the caller, so audit fields and role checks see the same user
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        long start = System.currentTimeMillis();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            T item = items.get(i);
+            inFlight.acquireUninterruptibly();
+            tasks.add(CompletableFuture.runAsync(() -> {
+                SecurityContext previous = SecurityContextHolder.getContext();
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    action.accept(item);
+                    done[index] = true;
+                } catch (Exception e) {
+                    String key = keyOf.apply(item);
+                    log.warn("{} failed for {}: {}", operation, key, e.getMessage());
+                    synchronized (failures) {
+                        failures.put(key, ExceptionUtils.getRootCauseMessage(e));
+                    }
+                } finally {
+                    SecurityContextHolder.setContext(previous);
+                    inFlight.release();
+                    int count = processed.incrementAndGet();
+                    if (count % progressStep == 0 || count == total) {
+                        notifyProgress(sessionId, operation, count, total, failures);
+                    }
+                }
+            }, keycloakExecutor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        List<T> succeeded = new ArrayList<>(total - failures.size());
+        for (int i = 0; i < total; i++) {
+            if (done[i]) {
+                succeeded.add(items.get(i));
+            }
+        }
+        log.info("{} finished for {} items in {} ms, {} failed", operation, total,
+                System.currentTimeMillis() - start, failures.size());
+        return new BulkResult<>(total, succeeded, failures);
+    }
+
+    private void notifyProgress(String sessionId, String operation, int processed, int total,
+            Map<String, String> failures) {
+        if (StringUtils.isBlank(sessionId)) {
+            return;
+        }
+        int failed;
+        synchronized (failures) {
+            failed = failures.size();
+        }
+        notificationService.notifyBulkProgress(sessionId, operation, processed, total, failed);
+    }
+}
@@ -0,0 +1,82 @@
+package com.endo4life.service.keycloak;
+
+import com.endo4life.constant.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.MappingsRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived copies of Keycloak admin lookups, so reading a profile does not
+ * cost a round trip to Keycloak. Entries are evicted when
+ * {@link KeycloakServiceImpl} changes a user and when the Keycloak webhook
+ * reports a change; the TTLs bound staleness for changes nobody reports.
+ * Cached representations are shared, callers must not modify them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeycloakCache {
+
+    private final MeterRegistry meterRegistry;
+    private Cache<UUID, UserRepresentation> users;
+    private Cache<UUID, MappingsRepresentation> roleMappings;
+    private Cache<String, ClientRepresentation> clients;
+
+    @PostConstruct
+    private void init() {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(Constants.KEYCLOAK_USER_CACHE_SIZE)
+                .expireAfterWrite(Constants.KEYCLOAK_USER_CACHE_TTL, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        this.roleMappings = Caffeine.newBuilder()
+                .maximumSize(Constants.KEYCLOAK_USER_CACHE_SIZE)
+                .expireAfterWrite(Constants.KEYCLOAK_USER_CACHE_TTL, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        this.clients = Caffeine.newBuilder()
+                .expireAfterWrite(Constants.KEYCLOAK_CLIENT_CACHE_TTL, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "keycloak.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, roleMappings, "keycloak.role-mappings");
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "keycloak.clients");
+    }
+
+    public UserRepresentation getUser(UUID userId, Function<UUID, UserRepresentation> loader) {
+        return users.get(userId, loader);
+    }
+
+    public MappingsRepresentation getRoleMappings(UUID userId, Function<UUID, MappingsRepresentation> loader) {
+        return roleMappings.get(userId, loader);
+    }
+
+    public ClientRepresentation getClient(String clientId, Supplier<ClientRepresentation> loader) {
+        return clients.get(clientId, key -> loader.get());
+    }
+
+    public void invalidateUser(UUID userId) {
+        users.invalidate(userId);
+        roleMappings.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        log.info("Dropping all cached Keycloak lookups");
+        users.invalidateAll();
+        roleMappings.invalidateAll();
+        clients.invalidateAll();
+    }
+}
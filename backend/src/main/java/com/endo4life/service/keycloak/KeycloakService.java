@@ -16,7 +16,7 @@ public interface KeycloakService {
 
     void updateUserInKeycloak(String userId, String firstName, String lastName);
 
-    void setUserStatusInKeycloak(List<UUID> userId, boolean isActive);
+    void setUserStatusInKeycloak(UUID userId, boolean isActive);
 
     UserRepresentation getUserInfoByUserId(UUID uuid);
 
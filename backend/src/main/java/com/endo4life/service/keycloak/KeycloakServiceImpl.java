@@ -1,15 +1,14 @@
 package com.endo4life.service.keycloak;
 
 import com.endo4life.config.ApplicationProperties;
+import com.endo4life.constant.Constants;
 import com.endo4life.security.UserContextHolder;
 
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.Collections;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 import org.keycloak.OAuth2Constants;
@@ -19,7 +18,7 @@ import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.admin.client.resource.UsersResource;
-import org.keycloak.representations.AccessTokenResponse;
+import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.MappingsRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
@@ -36,6 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 public class KeycloakServiceImpl implements KeycloakService {
 
     private final ApplicationProperties applicationProperties;
+    private final KeycloakCache keycloakCache;
+    private final PasswordVerifier passwordVerifier;
     private RealmResource realmResource;
 
     @PostConstruct
@@ -46,7 +47,10 @@ public class KeycloakServiceImpl implements KeycloakService {
                 .clientId(applicationProperties.keycloakConfiguration().clientId())
                 .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
                 .clientSecret(applicationProperties.keycloakConfiguration().secret())
-                .resteasyClient(new ResteasyClientBuilderImpl().connectionPoolSize(10).build())
+                .resteasyClient(new ResteasyClientBuilderImpl()
+                        .connectionPoolSize(Constants.KEYCLOAK_CONNECTION_POOL_SIZE)
+                        .maxPooledPerRoute(Constants.KEYCLOAK_CONNECTION_POOL_SIZE)
+                        .build())
                 .build();
 
         this.realmResource = keycloak.realm(applicationProperties.keycloakConfiguration().realm());
@@ -65,8 +69,8 @@ public class KeycloakServiceImpl implements KeycloakService {
 
     @Override
     public MappingsRepresentation getUserRoles(UUID userId) {
-        UserResource userResource = realmResource.users().get(String.valueOf(userId));
-        return userResource.roles().getAll();
+        return keycloakCache.getRoleMappings(userId,
+                id -> realmResource.users().get(String.valueOf(id)).roles().getAll());
     }
 
     @Override
@@ -134,17 +138,7 @@ public class KeycloakServiceImpl implements KeycloakService {
             }
         }
 
-        String clientUuid;
-        var clientRepresentation = realmResource.clients().findAll()
-                .stream()
-                .filter(client -> client.getClientId()
-                        .equalsIgnoreCase(applicationProperties.keycloakConfiguration().clientId()))
-                .findFirst();
-        if (clientRepresentation.isPresent()) {
-            clientUuid = clientRepresentation.get().getId();
-        } else {
-            throw new NoSuchElementException("No client found with the specified client ID");
-        }
+        String clientUuid = getClient().getId();
         RoleRepresentation roleRepresentation = realmResource.clients()
                 .get(clientUuid)
                 .roles()
@@ -153,6 +147,16 @@ public class KeycloakServiceImpl implements KeycloakService {
 
         realmResource.users().get(String.valueOf(userId)).roles().clientLevel(clientUuid)
                 .add(List.of(roleRepresentation));
+        keycloakCache.invalidateUser(userId);
+    }
+
+    private ClientRepresentation getClient() {
+        String clientId = applicationProperties.keycloakConfiguration().clientId();
+        return keycloakCache.getClient(clientId, () -> realmResource.clients().findByClientId(clientId)
+                .stream()
+                .filter(client -> client.getClientId().equalsIgnoreCase(clientId))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No client found with the specified client ID")));
     }
 
     @Override
@@ -161,31 +165,22 @@ public class KeycloakServiceImpl implements KeycloakService {
         keycloakUser.setFirstName(firstName);
         keycloakUser.setLastName(lastName);
         realmResource.users().get(userId).update(keycloakUser);
+        keycloakCache.invalidateUser(UUID.fromString(userId));
     }
 
     @Override
-    public void setUserStatusInKeycloak(List<UUID> userIds, boolean isActive) {
-        if (CollectionUtils.isEmpty(userIds)) {
-            throw new IllegalArgumentException("User ids cannot be empty");
-        }
-
-        for (UUID userId : userIds) {
-            UserResource userResource = realmResource.users().get(String.valueOf(userId));
-            UserRepresentation userRepresentation = userResource.toRepresentation();
-            userRepresentation.setEnabled(isActive);
-            userResource.update(userRepresentation);
-        }
+    public void setUserStatusInKeycloak(UUID userId, boolean isActive) {
+        UserResource userResource = realmResource.users().get(String.valueOf(userId));
+        UserRepresentation userRepresentation = userResource.toRepresentation();
+        userRepresentation.setEnabled(isActive);
+        userResource.update(userRepresentation);
+        keycloakCache.invalidateUser(userId);
     }
 
     @Override
     public UserRepresentation getUserInfoByUserId(UUID uuid) {
         try {
-            UsersResource userResource = realmResource.users();
-            var kcUser = userResource.get(uuid.toString());
-            if (Objects.isNull(kcUser)) {
-                return null;
-            }
-            return kcUser.toRepresentation();
+            return keycloakCache.getUser(uuid, this::fetchUser);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             return null;
@@ -196,12 +191,12 @@ public class KeycloakServiceImpl implements KeycloakService {
     public UserRepresentation getCurrentUserInfo() {
         final String userId = UserContextHolder.getUserId()
                 .orElseThrow();
+        return keycloakCache.getUser(UUID.fromString(userId), this::fetchUser);
+    }
+
+    private UserRepresentation fetchUser(UUID userId) {
         UsersResource userResource = realmResource.users();
-        UserRepresentation userRepresentation = userResource.get(userId).toRepresentation();
-        if (Objects.isNull(userRepresentation)) {
-            return null;
-        }
-        return userRepresentation;
+        return userResource.get(userId.toString()).toRepresentation();
     }
 
     private UUID createKeycloakUser(UserRepresentation user) {
@@ -232,28 +227,13 @@ public class KeycloakServiceImpl implements KeycloakService {
 
     @Override
     public boolean checkPassword(String password) {
+        String username;
         try {
-            UserResource userResource = realmResource.users()
-                    .get(StringUtils.defaultString(UserContextHolder.getUserId().orElse(null)));
-            UserRepresentation userRepresentation = userResource.toRepresentation();
-            String username = userRepresentation.getUsername();
-
-            Keycloak keycloakUserClient = KeycloakBuilder.builder()
-                    .serverUrl(applicationProperties.keycloakConfiguration().baseUrl())
-                    .realm(applicationProperties.keycloakConfiguration().realm())
-                    .clientId(applicationProperties.keycloakConfiguration().clientId())
-                    .grantType(OAuth2Constants.PASSWORD)
-                    .username(username)
-                    .password(password)
-                    .clientSecret(applicationProperties.keycloakConfiguration().secret())
-                    .resteasyClient(new ResteasyClientBuilderImpl().connectionPoolSize(10).build())
-                    .build();
-            AccessTokenResponse tokenResponse = keycloakUserClient.tokenManager().getAccessToken();
-
-            return tokenResponse != null && tokenResponse.getToken() != null;
+            username = getCurrentUserInfo().getUsername();
         } catch (Exception e) {
             return false;
         }
+        return passwordVerifier.verify(username, StringUtils.defaultString(password));
     }
 
     @Override
@@ -271,6 +251,7 @@ public class KeycloakServiceImpl implements KeycloakService {
                 user.setRequiredActions(Collections.emptyList());
                 user.setEmailVerified(true);
                 realmResource.users().get(user.getId()).update(user);
+                keycloakCache.invalidateUser(UUID.fromString(user.getId()));
                 log.info("Cleared required actions for user: {}", username);
             }
         } catch (Exception e) {
@@ -286,6 +267,7 @@ public class KeycloakServiceImpl implements KeycloakService {
     public void deleteUserFromKeycloak(UUID userId) {
         try {
             realmResource.users().delete(userId.toString());
+            keycloakCache.invalidateUser(userId);
             log.info("Successfully deleted user {} from Keycloak", userId);
         } catch (Exception e) {
             log.error("Failed to delete user {} from Keycloak: {}", userId, e.getMessage());
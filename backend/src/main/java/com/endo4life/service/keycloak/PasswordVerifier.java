@@ -0,0 +1,126 @@
+package com.endo4life.service.keycloak;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.constant.Constants;
+import com.endo4life.web.rest.errors.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Confirms a user's password with a single password-grant request to the
+ * Keycloak token endpoint, over one shared keep-alive HTTP client. Attempts
+ * are limited per user to {@link Constants#PASSWORD_CHECK_MAX_ATTEMPTS} per
+ * window, and every check is timed in {@code keycloak.password.check}.
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(Constants.PASSWORD_CHECK_TIMEOUT))
+            .build();
+    private final Cache<String, AtomicInteger> attempts = Caffeine.newBuilder()
+            .expireAfterWrite(Constants.PASSWORD_CHECK_WINDOW, TimeUnit.MILLISECONDS)
+            .build();
+    private final ApplicationProperties.KeycloakConfiguration keycloakConfig;
+    private final URI tokenEndpoint;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer errorTimer;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordVerifier(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.keycloakConfig = applicationProperties.keycloakConfiguration();
+        this.tokenEndpoint = URI.create(keycloakConfig.baseUrl() + "/realms/" + keycloakConfig.realm()
+                + "/protocol/openid-connect/token");
+        this.meterRegistry = meterRegistry;
+        this.validTimer = timer("valid");
+        this.invalidTimer = timer("invalid");
+        this.errorTimer = timer("error");
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("keycloak.password.check")
+                .description("Time spent confirming a password with Keycloak")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if Keycloak accepts the password, false if it rejects it or
+     *         cannot be reached
+     * @throws org.zalando.problem.ThrowableProblem 429 once the user is over the attempt limit
+     */
+    public boolean verify(String username, String password) {
+        // The window starts at the first attempt and is not extended by later ones
+        int attempt = attempts.get(username, key -> new AtomicInteger()).incrementAndGet();
+        if (attempt > Constants.PASSWORD_CHECK_MAX_ATTEMPTS) {
+            meterRegistry.counter("keycloak.password.check.limited").increment();
+            log.warn("Too many password confirmations for {}", username);
+            throw new TooManyRequestsException("Too many password attempts, try again later");
+        }
+
+        long start = System.nanoTime();
+        Timer timer = errorTimer;
+        try {
+            HttpResponse<Void> response = httpClient.send(tokenRequest(username, password),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) {
+                timer = validTimer;
+                attempts.invalidate(username);
+                return true;
+            }
+            // Keycloak answers a wrong password with 401, or 400 invalid_grant
+            if (response.statusCode() == 400 || response.statusCode() == 401) {
+                timer = invalidTimer;
+            } else {
+                log.warn("Keycloak token endpoint answered {} to a password check", response.statusCode());
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to confirm password with Keycloak: {}", e.getMessage());
+            return false;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private HttpRequest tokenRequest(String username, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "password");
+        form.put("client_id", keycloakConfig.clientId());
+        form.put("client_secret", keycloakConfig.secret());
+        form.put("username", username);
+        form.put("password", password);
+        String body = form.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(tokenEndpoint)
+                .timeout(Duration.ofMillis(Constants.PASSWORD_CHECK_TIMEOUT))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
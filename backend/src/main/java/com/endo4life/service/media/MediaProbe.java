@@ -0,0 +1,138 @@
+package com.endo4life.service.media;
+
+import com.endo4life.constant.Constants;
+import com.endo4life.domain.dto.MediaProbeResult;
+import com.endo4life.service.minio.MinioRangeInputStream;
+import com.endo4life.service.minio.MinioService;
+import com.endo4life.utils.FileUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reads an uploaded object at most once and extracts the first frame, dimensions,
+ * duration, codec and size from that single read. Replaces the separate
+ * frame grab, dimension probe and duration probe that each re-read the file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaProbe {
+
+    private static final int MAX_FRAMES_TO_SCAN = 100;
+
+    private final MinioService minioService;
+
+    /**
+     * Probes an object stored in MinIO. Videos are read through range GETs, so
+     * only the blocks FFmpeg actually touches are transferred; images are
+     * downloaded exactly once.
+     */
+    public MediaProbeResult probe(String bucket, String objectKey, boolean withFrame) throws IOException {
+        if (isVideo(objectKey)) {
+            try (MinioRangeInputStream stream = new MinioRangeInputStream(minioService, bucket, objectKey,
+                    Constants.PROBE_BLOCK_SIZE, Constants.PROBE_CACHED_BLOCKS)) {
+                MediaProbeResult result = probeVideo(new FFmpegFrameGrabber(stream), stream.getSize(), withFrame);
+                log.debug("Probed {}/{} reading {} of {} bytes", bucket, objectKey, stream.getBytesFetched(),
+                        stream.getSize());
+                return result;
+            }
+        }
+        try (InputStream stream = minioService.getFile(bucket, objectKey)) {
+            if (stream == null) {
+                throw new IOException("Failed to get file from MinIO: " + bucket + "/" + objectKey);
+            }
+            return probe(stream, objectKey, withFrame);
+        }
+    }
+
+    public MediaProbeResult probe(MultipartFile file, boolean withFrame) throws IOException {
+        try (InputStream stream = file.getInputStream()) {
+            return probe(stream, file.getOriginalFilename(), withFrame);
+        }
+    }
+
+    private MediaProbeResult probe(InputStream stream, String fileName, boolean withFrame) throws IOException {
+        // Spool once: FFmpeg needs a seekable input to read the container index
+        Path spool = Files.createTempFile("probe_", "." + FileUtil.getFileExtension(fileName));
+        try {
+            long size = Files.copy(stream, spool, StandardCopyOption.REPLACE_EXISTING);
+            if (isVideo(fileName)) {
+                return probeVideo(new FFmpegFrameGrabber(spool.toFile()), size, withFrame);
+            }
+            return probeImage(spool, size, withFrame);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private MediaProbeResult probeVideo(FFmpegFrameGrabber frameGrabber, long size, boolean withFrame)
+            throws IOException {
+        avutil.av_log_set_level(avutil.AV_LOG_QUIET);
+        try (FFmpegFrameGrabber grabber = frameGrabber) {
+            grabber.start();
+            MediaProbeResult.MediaProbeResultBuilder result = MediaProbeResult.builder()
+                    .width(grabber.getImageWidth())
+                    .height(grabber.getImageHeight())
+                    .duration((int) (grabber.getLengthInTime() / avutil.AV_TIME_BASE))
+                    .codec(avcodec.avcodec_get_name(grabber.getVideoCodec()).getString())
+                    .size(size);
+            if (withFrame) {
+                result.firstFrame(grabFirstFrame(grabber));
+            }
+            grabber.stop();
+            return result.build();
+        }
+    }
+
+    private boolean isVideo(String fileName) {
+        return Constants.VIDEO_EXTENSIONS.contains(FileUtil.getFileExtension(fileName).toLowerCase());
+    }
+
+    private byte[] grabFirstFrame(FFmpegFrameGrabber grabber) throws IOException {
+        Java2DFrameConverter converter = new Java2DFrameConverter();
+        for (int i = 0; i < MAX_FRAMES_TO_SCAN; i++) {
+            Frame frame = grabber.grabImage();
+            if (frame != null && frame.image != null) {
+                return toPng(converter.convert(frame));
+            }
+        }
+        log.error("Failed to extract the first frame.");
+        return new byte[0];
+    }
+
+    private MediaProbeResult probeImage(Path file, long size, boolean withFrame) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            log.error("Could not read the image: unsupported image format");
+        }
+        return MediaProbeResult.builder()
+                .width(image != null ? image.getWidth() : null)
+                .height(image != null ? image.getHeight() : null)
+                .size(size)
+                // The image is its own thumbnail source
+                .firstFrame(withFrame ? Files.readAllBytes(file) : null)
+                .build();
+    }
+
+    private byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, Constants.THUMBNAIL_EXTENSION, outputStream);
+        return outputStream.toByteArray();
+    }
+}
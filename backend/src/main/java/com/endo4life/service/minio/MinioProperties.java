@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 @Getter
 @Setter
@@ -23,4 +24,13 @@ public class MinioProperties {
     private String bucketOther;
     private String bucketProcess;
     private String bucketBook;
+
+    // Size of each slice streamed to MinIO; bounds the heap used per upload
+    private DataSize partSize = DataSize.ofMegabytes(10);
+
+    // Parts uploaded concurrently across all multipart uploads
+    private int maxPartsInFlight = 4;
+
+    // Maximum number of pre-signed links kept in memory
+    private long presignedUrlCacheSize = 10_000;
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.endo4life.service.minio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Seekable view over a MinIO object that fetches fixed-size blocks with range
+ * GETs and keeps the most recently used ones. {@code skip}, {@code mark} and
+ * {@code reset} only move the position, which is what FFmpeg's AVIO seek
+ * callback in {@link org.bytedeco.javacv.FFmpegFrameGrabber} relies on, so a
+ * probe transfers the container header and first frames instead of the
+ * whole object. Not thread-safe.
+ */
+public class MinioRangeInputStream extends InputStream {
+
+    private final MinioService minioService;
+    private final String bucket;
+    private final String objectName;
+    private final long size;
+    private final int blockSize;
+    private final Map<Long, byte[]> blocks;
+
+    private long position;
+    private long markPosition;
+    private long bytesFetched;
+
+    public MinioRangeInputStream(MinioService minioService, String bucket, String objectName,
+            int blockSize, int maxCachedBlocks) {
+        this.minioService = minioService;
+        this.bucket = bucket;
+        this.objectName = objectName;
+        this.size = minioService.getFileSize(bucket, objectName);
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<>(maxCachedBlocks, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxCachedBlocks;
+            }
+        };
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        long blockIndex = position / blockSize;
+        byte[] block = block(blockIndex);
+        int blockOffset = (int) (position - blockIndex * blockSize);
+        int count = Math.min(length, block.length - blockOffset);
+        System.arraycopy(block, blockOffset, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        markPosition = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = markPosition;
+    }
+
+    @Override
+    public void close() {
+        blocks.clear();
+    }
+
+    private byte[] block(long blockIndex) throws IOException {
+        byte[] block = blocks.get(blockIndex);
+        if (block != null) {
+            return block;
+        }
+        long start = blockIndex * blockSize;
+        long length = Math.min(blockSize, size - start);
+        try (InputStream stream = minioService.getFile(bucket, objectName, start, length)) {
+            block = stream.readNBytes((int) length);
+        }
+        if (block.length == 0) {
+            throw new IOException("Unexpected end of object " + bucket + "/" + objectName + " at " + start);
+        }
+        bytesFetched += block.length;
+        blocks.put(blockIndex, block);
+        return block;
+    }
+}
@@ -16,6 +16,12 @@ public interface MinioService {
     // Lấy file (stream)
     InputStream getFile(String bucket, String objectName);
 
+    // Lấy một đoạn của file (range GET)
+    InputStream getFile(String bucket, String objectName, long offset, long length);
+
+    // Lấy kích thước file
+    long getFileSize(String bucket, String objectName);
+
     // Xoá file - fileName first for consistency
     void removeFile(String fileName, String bucket);
 
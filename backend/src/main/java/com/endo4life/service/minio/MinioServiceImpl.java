@@ -2,11 +2,18 @@ package com.endo4life.service.minio;
 
 import com.endo4life.constant.Constants;
 import com.endo4life.domain.dto.FileUploadProgressListener;
+import com.endo4life.repository.MultipartUploadRepository;
 import com.endo4life.service.notification.NotificationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.minio.*;
 import io.minio.http.Method;
 import io.minio.messages.DeleteError;
 import io.minio.messages.DeleteObject;
+import io.minio.messages.Part;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -14,13 +21,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +42,26 @@ import java.util.concurrent.TimeUnit;
 public class MinioServiceImpl implements MinioService {
 
     private final MinioClient minioClient;
+    private final MultipartMinioClient multipartMinioClient;
+    private final PartBufferPool partBufferPool;
+    private final MultipartUploadRepository multipartUploadRepository;
     private final MinioProperties properties;
     private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private Cache<PreSignedLinkKey, String> presignedUrlCache;
+
+    private record PreSignedLinkKey(String bucket, String object, Method method) {
+    }
+
+    @PostConstruct
+    private void init() {
+        this.presignedUrlCache = Caffeine.newBuilder()
+                .maximumSize(properties.getPresignedUrlCacheSize())
+                .expireAfterWrite(Constants.PRESIGNED_URL_CACHE_TTL, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrlCache, "minio.presigned-urls");
+    }
 
     @Override
     @SneakyThrows
@@ -71,6 +103,29 @@ public class MinioServiceImpl implements MinioService {
                         .build());
     }
 
+    @SneakyThrows
+    @Override
+    public InputStream getFile(String bucket, String objectName, long offset, long length) {
+        return minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName)
+                        .offset(offset)
+                        .length(length)
+                        .build());
+    }
+
+    @SneakyThrows
+    @Override
+    public long getFileSize(String bucket, String objectName) {
+        return minioClient.statObject(
+                StatObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName)
+                        .build())
+                .size();
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || !filename.contains(".")) {
             return "";
@@ -116,33 +171,34 @@ public class MinioServiceImpl implements MinioService {
 
     @Override
     public String createGetPreSignedLink(String resourcePath, String bucket) {
-        try {
-            return minioClient.getPresignedObjectUrl(
-                    GetPresignedObjectUrlArgs.builder()
-                            .method(Method.GET)
-                            .bucket(bucket)
-                            .object(resourcePath)
-                            .expiry(Constants.DEFAULT_PRESIGNED_EXPIRY, TimeUnit.MILLISECONDS)
-                            .build());
-        } catch (Exception e) {
-            log.error("Failed to create presigned link", e);
-            return StringUtils.EMPTY;
-        }
+        return createPreSignedLink(resourcePath, bucket, Method.GET);
     }
 
     @Override
     public String createPutPreSignedLink(String resourcePath, String bucket) {
+        return createPreSignedLink(resourcePath, bucket, Method.PUT);
+    }
+
+    private String createPreSignedLink(String resourcePath, String bucket, Method method) {
+        // Signing is an HMAC per call; reuse links until half of their lifetime has passed
+        String url = presignedUrlCache.get(new PreSignedLinkKey(bucket, resourcePath, method),
+                key -> signLink(key.object(), key.bucket(), key.method()));
+        return Objects.nonNull(url) ? url : StringUtils.EMPTY;
+    }
+
+    private String signLink(String resourcePath, String bucket, Method method) {
         try {
             return minioClient.getPresignedObjectUrl(
                     GetPresignedObjectUrlArgs.builder()
-                            .method(Method.PUT)
+                            .method(method)
                             .bucket(bucket)
                             .object(resourcePath)
                             .expiry(Constants.DEFAULT_PRESIGNED_EXPIRY, TimeUnit.MILLISECONDS)
                             .build());
         } catch (Exception e) {
             log.error("Failed to create presigned link", e);
-            return StringUtils.EMPTY;
+            // Not cached, so the next call retries
+            return null;
         }
     }
 
@@ -151,71 +207,122 @@ public class MinioServiceImpl implements MinioService {
         FileUploadProgressListener progressListener = new FileUploadProgressListener(
                 fileName, totalBytes, notificationService);
 
-        List<String> partObjectNames = new ArrayList<>();
-        int partNumber = 1;
-        int bufferSize = 10 * 1024 * 1024; // 10MB buffer for performance
-        byte[] buffer = new byte[bufferSize];
-
+        String uploadId = null;
+        List<CompletableFuture<Part>> parts = new ArrayList<>();
         try (InputStream inputStream = file.getInputStream()) {
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer, 0, buffer.length)) != -1) {
-                String partObjectName = fileName + ".part" + partNumber;
+            ResumableUpload upload = openUpload(bucketName, fileName, file.getContentType());
+            uploadId = upload.uploadId();
 
-                // Only log every 5 parts or at the start to reduce I/O overhead
-                if (partNumber % 5 == 0 || partNumber == 1) {
-                    log.info("Begin uploading part {}", partObjectName);
+            int partNumber = 1;
+            int bytesRead;
+            do {
+                // Blocks while the in-flight window is full
+                byte[] buffer = partBufferPool.acquire();
+                try {
+                    // readNBytes fills whole parts even from inflating streams; S3 requires 5MB minimum
+                    bytesRead = inputStream.readNBytes(buffer, 0, buffer.length);
+                } catch (IOException e) {
+                    partBufferPool.release(buffer);
+                    throw e;
                 }
+                if (bytesRead == 0 && partNumber > 1) {
+                    partBufferPool.release(buffer);
+                    break;
+                }
+                parts.add(uploadPart(bucketName, fileName, uploadId, partNumber, buffer, bytesRead,
+                        upload.storedParts().get(partNumber), progressListener));
 
-                minioClient.putObject(
-                        PutObjectArgs.builder()
-                                .bucket(bucketName)
-                                .object(partObjectName)
-                                .stream(new ByteArrayInputStream(buffer, 0, bytesRead), bytesRead, -1)
-                                .build());
-
-                partObjectNames.add(partObjectName);
-                progressListener.updateProgress(bytesRead);
-
+                // Only log every 5 parts or at the start to reduce I/O overhead
                 if (partNumber % 5 == 0 || partNumber == 1) {
-                    log.info("Process part {} complete", partObjectName);
+                    log.info("Queued part {} of {}", partNumber, fileName);
                 }
                 partNumber++;
-            }
+            } while (bytesRead == partBufferPool.getPartSize());
 
-            composeObject(bucketName, fileName, partObjectNames);
+            Part[] completedParts = parts.stream().map(CompletableFuture::join).toArray(Part[]::new);
+            multipartMinioClient.completeMultipartUpload(bucketName, fileName, uploadId, completedParts);
+            multipartUploadRepository.release(bucketName, fileName, uploadId);
             notificationService.notifyUploadSuccess(fileName);
             return fileName;
+        } catch (InterruptedException e) {
+            log.warn("Upload of {} interrupted", fileName);
+            // Abort first: the abort call itself fails fast once the interrupt flag is set
+            abortUpload(bucketName, fileName, uploadId, parts);
+            Thread.currentThread().interrupt();
+            notificationService.notifyUploadFailure(fileName, "Upload interrupted");
+            return null;
         } catch (Exception e) {
             log.error("Error uploading file {}: {}", fileName, e.getMessage(), e);
+            abortUpload(bucketName, fileName, uploadId, parts);
             notificationService.notifyUploadFailure(fileName, e.getMessage());
             return null;
         }
     }
 
-    @SneakyThrows
-    private void composeObject(String bucketName, String objectName, List<String> partObjectNames) {
-        List<ComposeSource> sources = new ArrayList<>();
-
-        for (String partObjectName : partObjectNames) {
-            sources.add(ComposeSource.builder()
-                    .bucket(bucketName)
-                    .object(partObjectName)
-                    .build());
+    private record ResumableUpload(String uploadId, Map<Integer, Part> storedParts) {
+    }
+
+    /**
+     * Continues the upload this service left open for the object before a crash,
+     * or starts a new one. Only upload ids recorded here are resumed, so parts of
+     * an unrelated upload of the same key are never reused.
+     */
+    private ResumableUpload openUpload(String bucketName, String fileName, String contentType) {
+        Optional<ResumableUpload> resumed = multipartUploadRepository.findUploadId(bucketName, fileName)
+                .flatMap(uploadId -> multipartMinioClient.listParts(bucketName, fileName, uploadId)
+                        .map(stored -> new ResumableUpload(uploadId, stored.stream()
+                                .collect(Collectors.toMap(Part::partNumber, Function.identity())))));
+        if (resumed.isPresent()) {
+            log.info("Resuming upload {} of {} with {} stored parts", resumed.get().uploadId(), fileName,
+                    resumed.get().storedParts().size());
+            return resumed.get();
         }
+        String uploadId = multipartMinioClient.createMultipartUpload(bucketName, fileName, contentType);
+        multipartUploadRepository.register(UUID.randomUUID(), bucketName, fileName, uploadId);
+        return new ResumableUpload(uploadId, Map.of());
+    }
 
-        minioClient.composeObject(
-                ComposeObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .sources(sources)
-                        .build());
+    private CompletableFuture<Part> uploadPart(String bucketName, String fileName, String uploadId,
+            int partNumber, byte[] buffer, int length, Part storedPart,
+            FileUploadProgressListener progressListener) {
+        // Skip parts the interrupted attempt already stored with identical content
+        if (Objects.nonNull(storedPart) && storedPart.partSize() == length
+                && StringUtils.equals(StringUtils.strip(storedPart.etag(), "\""), md5Hex(buffer, length))) {
+            partBufferPool.release(buffer);
+            progressListener.updateProgress(length);
+            return CompletableFuture.completedFuture(new Part(partNumber, storedPart.etag()));
+        }
+        return multipartMinioClient.uploadPart(bucketName, fileName, uploadId, partNumber, buffer, length)
+                .whenComplete((part, error) -> {
+                    partBufferPool.release(buffer);
+                    if (Objects.isNull(error)) {
+                        progressListener.updateProgress(length);
+                    }
+                });
+    }
 
-        for (String partObjectName : partObjectNames) {
-            minioClient.removeObject(
-                    RemoveObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(partObjectName)
-                            .build());
+    @SneakyThrows
+    private String md5Hex(byte[] buffer, int length) {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        digest.update(buffer, 0, length);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void abortUpload(String bucketName, String fileName, String uploadId,
+            List<CompletableFuture<Part>> parts) {
+        if (Objects.isNull(uploadId)) {
+            return;
+        }
+        // Let in-flight parts settle first, otherwise they can land after the abort and keep storage
+        CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+        try {
+            multipartMinioClient.abortMultipartUpload(bucketName, fileName, uploadId);
+            multipartUploadRepository.release(bucketName, fileName, uploadId);
+        } catch (Exception e) {
+            // The row stays, so the next upload of this object resumes or replaces it
+            log.warn("Failed to abort multipart upload {} of {}", uploadId, fileName, e);
         }
     }
 
@@ -0,0 +1,90 @@
+package com.endo4life.service.minio;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Exposes the S3 multipart primitives that the MinIO SDK keeps protected, so
+ * parts can be uploaded in parallel, an upload interrupted by a crash can be
+ * resumed and a failed upload can be aborted.
+ */
+public class MultipartMinioClient extends MinioAsyncClient {
+
+    private final String region;
+
+    public MultipartMinioClient(MinioAsyncClient client, String region) {
+        super(client);
+        this.region = StringUtils.defaultIfEmpty(region, null);
+    }
+
+    @SneakyThrows
+    public String createMultipartUpload(String bucket, String objectName, String contentType) {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (StringUtils.isNotBlank(contentType)) {
+            headers.put("Content-Type", contentType);
+        }
+        return createMultipartUploadAsync(bucket, region, objectName, headers, null)
+                .get().result().uploadId();
+    }
+
+    public CompletableFuture<Part> uploadPart(String bucket, String objectName, String uploadId,
+            int partNumber, byte[] data, int length) {
+        try {
+            return uploadPartAsync(bucket, region, objectName, data, length, uploadId, partNumber, null, null)
+                    .thenApply(response -> new Part(partNumber, response.etag()));
+        } catch (Exception e) {
+            // Surface request-building errors through the future so callers release the part buffer
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @SneakyThrows
+    public ObjectWriteResponse completeMultipartUpload(String bucket, String objectName, String uploadId,
+            Part[] parts) {
+        return completeMultipartUploadAsync(bucket, region, objectName, uploadId, parts, null, null).get();
+    }
+
+    /**
+     * Parts already stored for an upload, or empty when the upload no longer
+     * exists (completed, aborted or expired by MinIO).
+     */
+    @SneakyThrows
+    public Optional<List<Part>> listParts(String bucket, String objectName, String uploadId) {
+        List<Part> parts = new ArrayList<>();
+        Integer partNumberMarker = null;
+        try {
+            ListPartsResult result;
+            do {
+                result = listPartsAsync(bucket, region, objectName, null, partNumberMarker, uploadId, null, null)
+                        .get().result();
+                parts.addAll(result.partList());
+                partNumberMarker = result.nextPartNumberMarker();
+            } while (result.isTruncated());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ErrorResponseException error
+                    && StringUtils.equals(error.errorResponse().code(), "NoSuchUpload")) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+        return Optional.of(parts);
+    }
+
+    @SneakyThrows
+    public void abortMultipartUpload(String bucket, String objectName, String uploadId) {
+        abortMultipartUploadAsync(bucket, region, objectName, uploadId, null, null).get();
+    }
+}
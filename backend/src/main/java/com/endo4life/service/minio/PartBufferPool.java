@@ -0,0 +1,49 @@
+package com.endo4life.service.minio;
+
+import io.minio.ObjectWriteArgs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed set of part-sized buffers shared by all multipart uploads. Acquiring a
+ * buffer blocks once every buffer is in flight, which bounds both concurrency
+ * and heap use to {@code capacity * partSize}.
+ */
+public class PartBufferPool {
+
+    private final int partSize;
+    private final Semaphore permits;
+    private final BlockingQueue<byte[]> buffers;
+
+    public PartBufferPool(int partSize, int capacity) {
+        // S3 rejects every part but the last one below 5MB when the upload completes
+        if (partSize < ObjectWriteArgs.MIN_MULTIPART_SIZE) {
+            throw new IllegalArgumentException("Multipart part size must be at least "
+                    + ObjectWriteArgs.MIN_MULTIPART_SIZE + " bytes, got " + partSize);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("At least one part must be allowed in flight, got " + capacity);
+        }
+        this.partSize = partSize;
+        this.permits = new Semaphore(capacity);
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public byte[] acquire() throws InterruptedException {
+        permits.acquire();
+        byte[] buffer = buffers.poll();
+        // Buffers are allocated lazily and then recycled
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    public void release(byte[] buffer) {
+        buffers.offer(buffer);
+        permits.release();
+    }
+}
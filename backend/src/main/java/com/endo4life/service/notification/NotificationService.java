@@ -1,5 +1,7 @@
 package com.endo4life.service.notification;
 
+import com.endo4life.web.rest.model.AIAnalysisJobDto;
+
 import java.util.UUID;
 
 public interface NotificationService {
@@ -15,6 +17,8 @@ public interface NotificationService {
 
     void notifyZipUploadFailure(String sessionId, String errorMessage);
 
+    void notifyBulkProgress(String sessionId, String operation, int processed, int total, int failed);
+
     void notifyUser(UUID userId, String type, String title, String content, String link);
 
     void notifyNewQuestionAssigned(UUID specialistId, UUID conversationId, String questionContent);
@@ -24,4 +28,8 @@ public interface NotificationService {
     void notifyQuestionResolved(UUID userId, UUID conversationId);
 
     void notifyCommentReply(UUID userId, UUID commentId, String replyContent, UUID resourceId);
+
+    void notifyCertificateIssued(UUID userId, UUID courseId, String certificateTitle);
+
+    void notifyAnalysisJob(AIAnalysisJobDto job);
 }
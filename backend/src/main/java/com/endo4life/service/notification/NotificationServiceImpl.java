@@ -1,5 +1,6 @@
 package com.endo4life.service.notification;
 
+import com.endo4life.web.rest.model.AIAnalysisJobDto;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
@@ -19,6 +20,7 @@ public class NotificationServiceImpl implements NotificationService {
     public static final String TYPE_QUESTION_REPLIED = "QUESTION_REPLIED";
     public static final String TYPE_QUESTION_RESOLVED = "QUESTION_RESOLVED";
     public static final String TYPE_COMMENT_REPLY = "COMMENT_REPLY";
+    public static final String TYPE_CERTIFICATE_ISSUED = "CERTIFICATE_ISSUED";
 
     @Override
     public void notifyUploadProgress(String fileName, int progress) {
@@ -101,6 +103,23 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    @Override
+    public void notifyBulkProgress(String sessionId, String operation, int processed, int total, int failed) {
+        String destination = "/topic/bulk-progress/" + sessionId;
+        Map<String, Object> progressUpdate = Map.of(
+                "sessionId", sessionId,
+                "operation", operation,
+                "processed", processed,
+                "total", total,
+                "failed", failed,
+                "progress", total > 0 ? (processed * 100 / total) : 0);
+        try {
+            messagingTemplate.convertAndSend(destination, progressUpdate);
+        } catch (Exception e) {
+            log.error("Failed to send bulk progress update: {}", e.getMessage());
+        }
+    }
+
     @Override
     public void notifyUser(UUID userId, String type, String title, String content, String link) {
         String destination = "/topic/notifications/" + userId.toString();
@@ -172,4 +191,26 @@ public class NotificationServiceImpl implements NotificationService {
                 "/resources/videos/" + resourceId.toString()
         );
     }
+
+    @Override
+    public void notifyCertificateIssued(UUID userId, UUID courseId, String certificateTitle) {
+        notifyUser(
+                userId,
+                TYPE_CERTIFICATE_ISSUED,
+                "Chứng chỉ của bạn đã sẵn sàng",
+                certificateTitle,
+                "/courses/" + courseId.toString()
+        );
+    }
+
+    @Override
+    public void notifyAnalysisJob(AIAnalysisJobDto job) {
+        String destination = "/topic/ai-analysis/" + job.getJobId().toString();
+        log.info("Sending AI analysis job {} to {}", job.getStatus(), destination);
+        try {
+            messagingTemplate.convertAndSend(destination, job);
+        } catch (Exception e) {
+            log.error("Failed to send AI analysis job update: {}", e.getMessage());
+        }
+    }
 }
@@ -6,6 +6,7 @@ import com.endo4life.domain.document.Test;
 import com.endo4life.mapper.QuestionMapper;
 import com.endo4life.repository.QuestionRepository;
 import com.endo4life.repository.TestRepository;
+import com.endo4life.service.usertest.AnswerKeyCache;
 import com.endo4life.utils.QuestionAttachmentUtil;
 import com.endo4life.web.rest.model.CreateQuestionRequestDto;
 import com.endo4life.web.rest.model.QuestionAttachmentCreateDto;
@@ -35,6 +36,7 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionMapper questionMapper;
     private final QuestionAttachmentUtil questionAttachmentUtil;
     private final ObjectMapper objectMapper; // Spring Boot tự động cung cấp bean này
+    private final AnswerKeyCache answerKeyCache;
 
     @Override
     public List<QuestionResponseDto> getQuestionsByTestId(UUID testId) {
@@ -80,6 +82,7 @@ public class QuestionServiceImpl implements QuestionService {
         }
 
         questionRepository.save(question);
+        answerKeyCache.invalidate(testId);
         return question.getId();
     }
 
@@ -130,14 +133,15 @@ public class QuestionServiceImpl implements QuestionService {
         }
 
         questionRepository.save(question);
+        answerKeyCache.invalidate(question.getTest().getId());
     }
 
     @Override
     public void deleteQuestion(UUID id) {
-        if (!questionRepository.existsById(id)) {
-            throw new NotFoundException("Question not found with id: " + id);
-        }
-        questionRepository.deleteById(id);
+        Question question = questionRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Question not found with id: " + id));
+        questionRepository.delete(question);
+        answerKeyCache.invalidate(question.getTest().getId());
     }
 
     private QuestionResponseDto mapQuestionToDto(Question question) {
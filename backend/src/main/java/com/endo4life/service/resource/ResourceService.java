@@ -1,10 +1,13 @@
 package com.endo4life.service.resource;
 
+import com.endo4life.domain.dto.KeysetPage;
+import com.endo4life.domain.dto.MediaProbeResult;
 import com.endo4life.web.rest.model.CreateResourceRequest;
 import com.endo4life.web.rest.model.CreateResourceRequestDto;
 import com.endo4life.web.rest.model.ResourceCriteria;
 import com.endo4life.web.rest.model.ResourceDetailResponseDto;
 import com.endo4life.web.rest.model.ResourceResponseDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateResourceRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +19,8 @@ import java.util.UUID;
 public interface ResourceService {
     Page<ResourceResponseDto> getResources(ResourceCriteria criteria, Pageable pageable);
 
+    KeysetPage<ResourceResponseDto> getResources(ResourceCriteria criteria, SeekPageRequest seek, int size);
+
     ResourceDetailResponseDto getResourceById(UUID id);
 
     List<UUID> createResource(CreateResourceRequest createResourceRequest);
@@ -30,12 +35,12 @@ public interface ResourceService {
 
     void removeThumbnail(String... thumbnailPaths);
     
-    void updateResourceThumbnail(String objectKey);
+    void updateResourceThumbnail(String objectKey, MediaProbeResult probe);
 
     /**
-     * Handle compressed file upload (ZIP/RAR) and extract resources
+     * Handle compressed file upload (ZIP/RAR) stored in MinIO and extract resources
      */
-    void handleCompressedFile(MultipartFile file);
+    void handleCompressedFile(String bucket, String objectKey);
 
     /**
      * Handle multiple file uploads with metadata
@@ -1,22 +1,27 @@
 package com.endo4life.service.resource;
 
+import com.endo4life.domain.dto.ExtractedArchive;
 import com.endo4life.domain.dto.ExtractedFile;
+import com.endo4life.domain.dto.KeysetPage;
+import com.endo4life.domain.dto.MediaProbeResult;
 import com.endo4life.service.file.FileService;
+import com.endo4life.service.media.MediaProbe;
 import com.endo4life.service.minio.MinioService;
 import com.endo4life.service.notification.NotificationService;
 import com.endo4life.service.tag.TagService;
-import com.endo4life.utils.FileUtil;
-import com.endo4life.utils.ResourceUtil;
+import com.endo4life.service.viewcount.ViewCountAggregator;
+import com.endo4life.service.viewcount.ViewCountAggregator.ViewTarget;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.web.rest.model.CreateResourceRequest;
 import com.endo4life.web.rest.model.CreateResourceRequestDto;
 import com.endo4life.web.rest.model.ResourceCriteria;
 import com.endo4life.web.rest.model.ResourceDetailResponseDto;
 import com.endo4life.web.rest.model.ResourceResponseDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateResourceRequestDto;
 import com.endo4life.web.rest.model.UploadType;
 import jakarta.annotation.PostConstruct;
 import jakarta.ws.rs.NotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import com.endo4life.config.ApplicationProperties;
@@ -28,24 +33,30 @@ import com.endo4life.repository.specifications.ResourceSpecifications;
 import com.endo4life.security.UserContextHolder;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import com.endo4life.domain.document.Resource.ResourceType;
 
-import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
 @Service
 @Transactional
-@RequiredArgsConstructor
 @Slf4j
 public class ResourceServiceImpl implements ResourceService {
 
@@ -55,18 +66,49 @@ public class ResourceServiceImpl implements ResourceService {
     private final FileService fileService;
     private final TagService tagService;
     private final NotificationService notificationService;
+    private final MediaProbe mediaProbe;
+    private final ViewCountAggregator viewCountAggregator;
     private final ApplicationProperties applicationProperties;
+    private final Executor importExecutor;
     private ApplicationProperties.MinioConfiguration minioConfig;
+    private ApplicationProperties.Ingestion ingestionConfig;
+
+    public ResourceServiceImpl(ResourceRepository resourceRepository,
+                               ResourceMapper resourceMapper,
+                               MinioService minioService,
+                               FileService fileService,
+                               TagService tagService,
+                               NotificationService notificationService,
+                               MediaProbe mediaProbe,
+                               ViewCountAggregator viewCountAggregator,
+                               ApplicationProperties applicationProperties,
+                               @Qualifier("importExecutor") Executor importExecutor) {
+        this.resourceRepository = resourceRepository;
+        this.resourceMapper = resourceMapper;
+        this.minioService = minioService;
+        this.fileService = fileService;
+        this.tagService = tagService;
+        this.notificationService = notificationService;
+        this.mediaProbe = mediaProbe;
+        this.viewCountAggregator = viewCountAggregator;
+        this.applicationProperties = applicationProperties;
+        this.importExecutor = importExecutor;
+    }
 
     @PostConstruct
     private void init() {
         this.minioConfig = applicationProperties.minioConfiguration();
+        this.ingestionConfig = applicationProperties.ingestion();
     }
 
     @Override
     public Page<ResourceResponseDto> getResources(ResourceCriteria criteria, Pageable pageable) {
+        // An explicit sort would replace the relevance ordering set by the specification
+        Pageable request = ResourceSpecifications.isRelevanceSearch(criteria)
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : pageable;
         Page<ResourceResponseDto> resources = resourceRepository
-                .findAll(ResourceSpecifications.byCriteria(criteria), pageable)
+                .findAll(ResourceSpecifications.byCriteria(criteria), request)
                 .map(resourceMapper::toResourceResponseDto);
         return new PageImpl<>(
                 resources.getContent(),
@@ -75,12 +117,23 @@ public class ResourceServiceImpl implements ResourceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ResourceResponseDto> getResources(ResourceCriteria criteria, SeekPageRequest seek, int size) {
+        return KeysetPageUtil.findPage(resourceRepository, ResourceSpecifications.byCriteria(criteria), seek, size)
+                .map(resourceMapper::toResourceResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ResourceDetailResponseDto getResourceById(UUID id) {
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Resource not found with id: " + id));
-        resource.setViewNumber(resource.getViewNumber() + 1);
-        resourceRepository.save(resource);
-        return resourceMapper.toResourceDetailResponseDto(resource);
+        // The view is persisted by the aggregator's next flush
+        viewCountAggregator.recordView(ViewTarget.RESOURCE, id);
+        ResourceDetailResponseDto detailResourceDto = resourceMapper.toResourceDetailResponseDto(resource);
+        detailResourceDto.setViewNumber(Objects.requireNonNullElse(resource.getViewNumber(), 0)
+                + viewCountAggregator.pendingViews(ViewTarget.RESOURCE, id));
+        return detailResourceDto;
     }
 
     @Override
@@ -235,10 +288,7 @@ public class ResourceServiceImpl implements ResourceService {
     @Override
     @SneakyThrows
     public void createThumbnail(MultipartFile file) {
-        fileService.createAndUploadThumbnail(file, Constants.THUMBNAIL_DIMENSION,
-                Constants.TEMPLATE_THUMBNAIL_NAME);
-        fileService.createAndUploadThumbnail(file, Constants.SMALL_THUMBNAIL_DIMENSION,
-                Constants.TEMPLATE_SMALL_THUMBNAIL_NAME);
+        fileService.createAndUploadThumbnails(file);
     }
 
     @Override
@@ -250,7 +300,7 @@ public class ResourceServiceImpl implements ResourceService {
     }
 
     @Override
-    public void updateResourceThumbnail(String objectKey) {
+    public void updateResourceThumbnail(String objectKey, MediaProbeResult probe) {
         // Find resource by path
         Optional<Resource> resourceOpt = resourceRepository.findResourceByPath(objectKey);
 
@@ -260,36 +310,19 @@ public class ResourceServiceImpl implements ResourceService {
         }
 
         Resource resource = resourceOpt.get();
-        String bucketName = minioService.getBucketFromResourceType(resource.getType().getValue());
-
-        // Get file from MinIO to calculate metadata
-        try (InputStream fileStream = minioService.getFile(bucketName, objectKey)) {
-            if (fileStream == null) {
-                log.error("Failed to get file from MinIO for metadata update: {}", objectKey);
-                return;
-            }
 
-            // Convert to MultipartFile to use utility methods
-            String contentType = FileUtil.getFileExtension(objectKey);
-            MultipartFile file = FileUtil.toMultipartFile(fileStream, objectKey, contentType);
+        // Update file metadata from the probe, no need to read the object again
+        resource.setDimension(probe.dimension());
+        resource.setSize(probe.sizeText());
 
-            // Update file metadata
-            var webResourceType = convertToWebResourceType(resource.getType());
-            resource.setDimension(ResourceUtil.getDimensions(file, webResourceType));
-            resource.setSize(ResourceUtil.getSize(file));
-
-            // Set extension from filename
-            if (objectKey.contains(".")) {
-                resource.setExtension(objectKey.substring(objectKey.lastIndexOf(".") + 1));
-            }
-
-            // Update video duration if it's a video
-            if (resource.getType() == ResourceType.VIDEO) {
-                resource.setTime(FileUtil.getVideoDuration(file));
-            }
+        // Set extension from filename
+        if (objectKey.contains(".")) {
+            resource.setExtension(objectKey.substring(objectKey.lastIndexOf(".") + 1));
+        }
 
-        } catch (Exception e) {
-            log.error("Failed to update resource metadata for {}: {}", objectKey, e.getMessage(), e);
+        // Update video duration if it's a video
+        if (resource.getType() == ResourceType.VIDEO) {
+            resource.setTime(probe.duration());
         }
 
         // Extract base name without extension: uuid_filename.ext -> uuid_filename
@@ -310,13 +343,12 @@ public class ResourceServiceImpl implements ResourceService {
     }
 
     @Override
-    public void handleCompressedFile(MultipartFile file) {
-        // Extract session ID from filename (format: sessionId_originalName.zip)
-        String fileName = file.getOriginalFilename();
-        String sessionId = extractSessionId(fileName);
+    public void handleCompressedFile(String bucket, String objectKey) {
+        // Extract session ID from object key (format: sessionId_originalName.zip)
+        String sessionId = extractSessionId(objectKey);
 
-        try {
-            var fileMap = fileService.processCompressedFile(file);
+        try (ExtractedArchive archive = fileService.processCompressedFile(bucket, objectKey)) {
+            var fileMap = archive.getFiles();
             int totalFiles = fileMap.size();
             log.info("Handle compressed file with {} files, session: {}", totalFiles, sessionId);
 
@@ -377,74 +409,124 @@ public class ResourceServiceImpl implements ResourceService {
         int totalFiles = files.size();
         log.info("Handle multiple files: {}, session: {}", totalFiles, sessionId);
 
-        for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            CreateResourceRequestDto metadata = metadataList.get(i);
+        // Upload and probe run on the import pool; persistence stays on this thread
+        Semaphore inFlight = new Semaphore(ingestionConfig.maxInFlight());
+        Deque<CompletableFuture<ImportedFile>> pending = new ArrayDeque<>();
+        List<Resource> batch = new ArrayList<>(ingestionConfig.batchSize());
+        int processed = 0;
+
+        for (int i = 0; i < totalFiles; i++) {
+            inFlight.acquireUninterruptibly();
+            pending.add(importFile(files.get(i), metadataList.get(i))
+                    .whenComplete((result, error) -> inFlight.release()));
+
+            // Drain finished imports at the head of the queue so progress stays in order
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                persistImportedFile(pending.poll(), batch, ++processed, totalFiles, sessionId);
+            }
+        }
+        while (!pending.isEmpty()) {
+            persistImportedFile(pending.poll(), batch, ++processed, totalFiles, sessionId);
+        }
+        flushResources(batch);
+    }
+
+    private CompletableFuture<ImportedFile> importFile(MultipartFile file, CreateResourceRequestDto metadata) {
+        // Determine resource type
+        ResourceType type = getResourceTypeFromFile(file);
+        String bucketName = minioService.getBucketFromResourceType(type.getValue());
+        String fileName = UUID.randomUUID() + Constants.UNDERSCORE + file.getOriginalFilename();
 
-            // Determine resource type
-            ResourceType type = getResourceTypeFromFile(file);
-            String bucketName = minioService.getBucketFromResourceType(type.getValue());
+        // Use chunked upload for compressed file extraction (always has progress)
+        return CompletableFuture
+                .supplyAsync(() -> minioService.uploadChunk(file, bucketName, fileName), importExecutor)
+                .thenApplyAsync(uploaded -> probeFile(file, metadata, type, uploaded), importExecutor);
+    }
 
-            // Upload file to MinIO with progress tracking
-            UUID id = UUID.randomUUID();
-            String fileName = id + Constants.UNDERSCORE + file.getOriginalFilename();
+    @SneakyThrows
+    private ImportedFile probeFile(MultipartFile file, CreateResourceRequestDto metadata,
+            ResourceType type, String uploadedFileName) {
+        if (Objects.isNull(uploadedFileName)) {
+            return new ImportedFile(file.getOriginalFilename(), metadata, type, null, null, null, null);
+        }
+        // Thumbnails come later from the webhook, so only metadata is probed here
+        MediaProbeResult probe = mediaProbe.probe(file, false);
+        return new ImportedFile(
+                file.getOriginalFilename(),
+                metadata,
+                type,
+                uploadedFileName,
+                probe.dimension(),
+                probe.sizeText(),
+                type == ResourceType.VIDEO ? probe.duration() : null);
+    }
+
+    private void persistImportedFile(CompletableFuture<ImportedFile> future, List<Resource> batch,
+            int processed, int totalFiles, String sessionId) {
+        try {
+            ImportedFile importedFile = future.join();
+            if (Objects.isNull(importedFile.fileName())) {
+                log.warn("Skipping {}: upload failed", importedFile.originalFileName());
+            } else {
+                batch.add(createResource(importedFile));
+            }
 
             // Send progress update
             if (sessionId != null) {
-                int processed = i + 1;
                 notificationService.notifyUploadProgress(sessionId, processed, totalFiles,
-                        "Processing " + file.getOriginalFilename() + " (" + processed + "/" + totalFiles + ")");
+                        "Processing " + importedFile.originalFileName() + " (" + processed + "/" + totalFiles + ")");
             }
+        } catch (CompletionException e) {
+            log.error("Failed to import file: {}", e.getMessage(), e);
+        }
 
-            // Use chunked upload for compressed file extraction (always has progress)
-            minioService.uploadChunk(file, bucketName, fileName);
+        if (batch.size() >= ingestionConfig.batchSize()) {
+            flushResources(batch);
+        }
+    }
 
-            // Create resource in database
-            createResource(metadata, file, type, fileName);
+    private void flushResources(List<Resource> batch) {
+        if (batch.isEmpty()) {
+            return;
         }
+        resourceRepository.saveAllAndFlush(batch);
+        batch.clear();
     }
 
-    private void createResource(CreateResourceRequestDto request, MultipartFile file,
-            ResourceType type, String fileName) {
+    private Resource createResource(ImportedFile importedFile) {
+        CreateResourceRequestDto request = importedFile.metadata();
+        String fileName = importedFile.fileName();
         Resource resource = new Resource();
         resourceMapper.toResource(resource, request);
-        resource.setType(type);
+        resource.setType(importedFile.type());
         resource.setPath(fileName);
         resource.setCreatedBy(UserContextHolder.getEmail().orElse(Constants.SYSTEM));
         resource.setUpdatedBy(UserContextHolder.getEmail().orElse(Constants.SYSTEM));
-
-        // Convert domain ResourceType to web ResourceType for utility method
-        var webResourceType = convertToWebResourceType(type);
-        resource.setDimension(ResourceUtil.getDimensions(file, webResourceType));
-        resource.setSize(ResourceUtil.getSize(file));
+        resource.setDimension(importedFile.dimension());
+        resource.setSize(importedFile.size());
+        resource.setTime(importedFile.time());
 
         if (Objects.nonNull(request.getThumbnail()) &&
                 StringUtils.isNotBlank(request.getThumbnail().toString())) {
             resource.setThumbnail(request.getThumbnail().toString());
         }
 
-        if (type == ResourceType.VIDEO) {
-            resource.setTime(FileUtil.getVideoDuration(file));
-        }
-
         // Set expected thumbnail name (will be generated by webhook)
         String baseName = fileName.contains(".")
                 ? fileName.substring(0, fileName.lastIndexOf("."))
                 : fileName;
         resource.setThumbnail(Constants.TEMPLATE_THUMBNAIL_NAME + baseName);
-
-        resourceRepository.saveAndFlush(resource);
+        return resource;
     }
 
-    private com.endo4life.web.rest.model.ResourceType convertToWebResourceType(ResourceType type) {
-        return switch (type) {
-            case VIDEO -> com.endo4life.web.rest.model.ResourceType.VIDEO;
-            case IMAGE -> com.endo4life.web.rest.model.ResourceType.IMAGE;
-            case AVATAR -> com.endo4life.web.rest.model.ResourceType.AVATAR;
-            case THUMBNAIL -> com.endo4life.web.rest.model.ResourceType.THUMBNAIL;
-            case OTHER -> com.endo4life.web.rest.model.ResourceType.OTHER;
-            case PROCESS -> com.endo4life.web.rest.model.ResourceType.PROCESS;
-        };
+    private record ImportedFile(
+            String originalFileName,
+            CreateResourceRequestDto metadata,
+            ResourceType type,
+            String fileName,
+            String dimension,
+            String size,
+            Integer time) {
     }
 
     private ResourceType getResourceTypeFromFile(MultipartFile file) {
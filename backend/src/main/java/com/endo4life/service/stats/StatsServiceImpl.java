@@ -2,6 +2,8 @@ package com.endo4life.service.stats;
 
 import com.endo4life.repository.ResourceRepository;
 import com.endo4life.repository.UserInfoRepository;
+import com.endo4life.service.viewcount.ViewCountAggregator;
+import com.endo4life.service.viewcount.ViewCountAggregator.ViewTarget;
 import com.endo4life.web.rest.model.ResourceViewStatDto;
 import com.endo4life.web.rest.model.UserGrowthStatDto;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ public class StatsServiceImpl implements StatsService {
 
     private final UserInfoRepository userInfoRepository;
     private final ResourceRepository resourceRepository;
+    private final ViewCountAggregator viewCountAggregator;
 
     @Override
     @Transactional(readOnly = true)
@@ -78,7 +81,9 @@ public class StatsServiceImpl implements StatsService {
                     dto.setId(java.util.UUID.fromString(row[0].toString()));
                     dto.setTitle((String) row[1]);
                     dto.setType((String) row[2]);
-                    dto.setViewCount(((Number) row[3]).intValue());
+                    // Include views not yet flushed by the aggregator
+                    dto.setViewCount(((Number) row[3]).intValue()
+                            + viewCountAggregator.pendingViews(ViewTarget.RESOURCE, dto.getId()));
                     dto.setThumbnailUrl((String) row[4]);
                     return dto;
                 })
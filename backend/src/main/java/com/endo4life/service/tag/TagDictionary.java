@@ -0,0 +1,113 @@
+package com.endo4life.service.tag;
+
+import com.endo4life.constant.Constants;
+import com.endo4life.domain.document.Tag;
+import com.endo4life.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the tag table, indexed by id and by content. Loaded once
+ * and kept current by {@link TagServiceImpl} once its writes commit; a periodic
+ * full reload picks up changes made by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TagDictionary {
+
+    private final TagRepository tagRepository;
+
+    private volatile TagIndex index = new TagIndex();
+    private volatile long loadedAt;
+
+    private record TagIndex(Map<UUID, Tag> byId, Map<String, Tag> byContent) {
+        TagIndex() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void add(Tag tag) {
+            byId.put(tag.getId(), tag);
+            if (StringUtils.isNotBlank(tag.getContent())) {
+                byContent.put(tag.getContent(), tag);
+            }
+        }
+    }
+
+    public Optional<String> findContent(UUID id) {
+        return Optional.ofNullable(current().byId().get(id)).map(Tag::getContent);
+    }
+
+    public Optional<Tag> findByContent(String content) {
+        if (Objects.isNull(content)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().byContent().get(content));
+    }
+
+    public void put(Collection<Tag> tags) {
+        List<Tag> added = List.copyOf(tags);
+        afterCommit(() -> {
+            TagIndex tagIndex = current();
+            added.forEach(tagIndex::add);
+        });
+    }
+
+    public void remove(Collection<UUID> ids) {
+        List<UUID> removedIds = List.copyOf(ids);
+        afterCommit(() -> {
+            TagIndex tagIndex = current();
+            removedIds.forEach(id -> {
+                Tag removed = tagIndex.byId().remove(id);
+                if (Objects.nonNull(removed) && StringUtils.isNotBlank(removed.getContent())) {
+                    tagIndex.byContent().remove(removed.getContent(), removed);
+                }
+            });
+        });
+    }
+
+    // A rolled back write must not leave its tags visible to other requests
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private TagIndex current() {
+        if (System.currentTimeMillis() - loadedAt >= Constants.TAG_DICTIONARY_REFRESH_INTERVAL) {
+            reload();
+        }
+        return index;
+    }
+
+    private synchronized void reload() {
+        if (System.currentTimeMillis() - loadedAt < Constants.TAG_DICTIONARY_REFRESH_INTERVAL) {
+            return;
+        }
+        // Build aside and swap, so readers never observe a partially loaded index
+        TagIndex tagIndex = new TagIndex();
+        tagRepository.findAll().forEach(tagIndex::add);
+        index = tagIndex;
+        loadedAt = System.currentTimeMillis();
+        log.info("Loaded {} tags into dictionary", tagIndex.byId().size());
+    }
+}
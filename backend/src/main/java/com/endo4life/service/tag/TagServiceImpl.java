@@ -24,6 +24,7 @@ public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
+    private final TagDictionary tagDictionary;
 
     @Override
     public List<TagResponseDto> getTags(List<UUID> ids, TagType type) {
@@ -46,17 +47,21 @@ public class TagServiceImpl implements TagService {
 
         TagType type = createTagRequestDto.getType();
         if (tags.size() > 1 || CollectionUtils.isEmpty(detailTags)) {
-            tagRepository.saveAll(tags.stream()
+            tagDictionary.put(tagRepository.saveAll(tags.stream()
                     .map(tag -> Tag.builder().content(tag).type(type).build())
-                    .toList());
+                    .toList()));
         } else {
-            UUID parentId = tagRepository.findByContent(tags.get(0))
-                    .orElseGet(() -> tagRepository.save(Tag.builder().content(tags.get(0)).type(type).build()))
+            UUID parentId = tagDictionary.findByContent(tags.get(0))
+                    .orElseGet(() -> {
+                        Tag parent = tagRepository.save(Tag.builder().content(tags.get(0)).type(type).build());
+                        tagDictionary.put(List.of(parent));
+                        return parent;
+                    })
                     .getId();
-            tagRepository.saveAll(
+            tagDictionary.put(tagRepository.saveAll(
                     detailTags.stream()
                             .map(tag -> Tag.builder().content(tag).parentId(parentId).type(type).build())
-                            .toList());
+                            .toList()));
         }
     }
 
@@ -66,15 +71,17 @@ public class TagServiceImpl implements TagService {
             tagIds.addAll(tagRepository.findAllIdsByParentIdIn(tagIds));
             log.info("Delete tags {}", tagIds);
             tagRepository.deleteAllById(tagIds);
+            tagDictionary.remove(tagIds);
         }
         if (CollectionUtils.isNotEmpty(tagDetailIds)) {
             tagRepository.deleteAllById(tagDetailIds);
+            tagDictionary.remove(tagDetailIds);
         }
     }
 
     @Override
     public boolean isDetailTag(String name) {
-        Tag result = tagRepository.findByContent(name)
+        Tag result = tagDictionary.findByContent(name)
                 .orElse(null);
         if (Objects.isNull(result)) {
             return true;
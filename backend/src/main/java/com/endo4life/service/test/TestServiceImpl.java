@@ -12,6 +12,7 @@ import com.endo4life.repository.CourseRepository;
 import com.endo4life.repository.CourseSectionRepository;
 import com.endo4life.repository.TestRepository;
 import com.endo4life.security.UserContextHolder;
+import com.endo4life.service.usertest.AnswerKeyCache;
 import com.endo4life.web.rest.model.CreateQuestionRequestDto;
 import com.endo4life.web.rest.model.CreateTestRequestDto;
 import com.endo4life.web.rest.model.QuestionAttachmentCreateDto;
@@ -49,6 +50,7 @@ public class TestServiceImpl implements TestService {
     private final TestMapper testMapper;
     private final QuestionMapper questionMapper;
     private final ObjectMapper objectMapper;
+    private final AnswerKeyCache answerKeyCache;
 
     @Override
     public List<TestResponseDto> getTestsByCourseId(UUID courseId) {
@@ -258,6 +260,7 @@ public class TestServiceImpl implements TestService {
         }
 
         testRepository.save(test);
+        answerKeyCache.invalidate(id);
     }
 
     private void processUpdateQuestions(Test test, List<UpdateQuestionRequestDto> questionDtos, String emailUserLogin) {
@@ -477,5 +480,6 @@ public class TestServiceImpl implements TestService {
             throw new NotFoundException("Test not found with id: " + id);
         }
         testRepository.deleteById(id);
+        answerKeyCache.invalidate(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.endo4life.service.thumbnail;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.constant.Constants;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Renders every configured thumbnail size from a single decode of the source.
+ * The source is decoded with subsampling close to the largest target, each
+ * size is scaled down from the previous one, and the results are encoded in
+ * the configured format. Work runs on the CPU-sized thumbnail pool.
+ */
+@Slf4j
+@Component
+public class ThumbnailEngine {
+
+    private static final String FALLBACK_FORMAT = "jpeg";
+
+    private final Executor thumbnailExecutor;
+    private final ApplicationProperties applicationProperties;
+    private final List<Size> sizes;
+    private String format;
+    private String contentType;
+    private float quality;
+
+    private record Size(String template, int width, int height) {
+    }
+
+    public ThumbnailEngine(@Qualifier("thumbnailExecutor") Executor thumbnailExecutor,
+            ApplicationProperties applicationProperties) {
+        this.thumbnailExecutor = thumbnailExecutor;
+        this.applicationProperties = applicationProperties;
+        // Largest first, so each size can be scaled from the one before it
+        this.sizes = Constants.THUMBNAIL_SIZES.entrySet().stream()
+                .map(entry -> {
+                    String[] dimension = entry.getValue().split("x");
+                    return new Size(entry.getKey(), Integer.parseInt(dimension[0]),
+                            Integer.parseInt(dimension[1]));
+                })
+                .sorted(Comparator.comparingInt((Size size) -> size.width() * size.height()).reversed())
+                .toList();
+    }
+
+    @PostConstruct
+    private void init() {
+        ApplicationProperties.Thumbnail config = applicationProperties.thumbnail();
+        this.quality = config.quality();
+        this.format = config.format();
+        if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            log.warn("No image writer for thumbnail format {}, falling back to {}", format, FALLBACK_FORMAT);
+            this.format = FALLBACK_FORMAT;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        this.contentType = writer.getOriginatingProvider().getMIMETypes()[0];
+        writer.dispose();
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return encoded thumbnails keyed by their name template
+     */
+    public Map<String, byte[]> render(MultipartFile source) throws IOException {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (InputStream inputStream = source.getInputStream()) {
+                    return render(inputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, thumbnailExecutor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, byte[]> render(InputStream source) throws IOException {
+        BufferedImage image = decode(source, sizes.get(0));
+        Map<String, byte[]> thumbnails = new LinkedHashMap<>();
+        for (Size size : sizes) {
+            image = Thumbnails.of(image).size(size.width(), size.height()).asBufferedImage();
+            thumbnails.put(size.template(), encode(image));
+        }
+        return thumbnails;
+    }
+
+    private BufferedImage decode(InputStream source, Size largest) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Invalid image format.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Keep twice the target resolution for a clean downscale; the
+                // decoder skips the rest instead of materializing it
+                int factor = Math.max(1, Math.min(
+                        reader.getWidth(0) / (largest.width() * 2),
+                        reader.getHeight(0) / (largest.height() * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(toWritable(image), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private BufferedImage toWritable(BufferedImage image) {
+        boolean jpeg = "jpeg".equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format);
+        if (!jpeg || !image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        // JPEG has no alpha channel, flatten onto white
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+        return rgb;
+    }
+}
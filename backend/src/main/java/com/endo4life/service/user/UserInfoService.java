@@ -6,6 +6,8 @@ import java.util.Set;
 import java.util.UUID;
 
 import com.endo4life.domain.document.UserInfo;
+import com.endo4life.domain.dto.BulkResult;
+import com.endo4life.domain.dto.KeysetPage;
 import com.endo4life.web.rest.model.*;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.data.domain.Page;
@@ -21,6 +23,8 @@ public interface UserInfoService {
 
         Page<UserResponseDto> getUserByCriteria(UserInfoCriteria criteria, Pageable pageable);
 
+        KeysetPage<UserResponseDto> getUserByCriteria(UserInfoCriteria criteria, SeekPageRequest seek, int size);
+
         UserResponseDto getUserById(UUID id);
 
         UserResponseDto getCurrentUserInfo();
@@ -32,7 +36,13 @@ public interface UserInfoService {
         void syncInvitedUserInfoFromKeycloak(String userId, String updatedFirstName,
                         String updatedLastname);
 
-        void deleteUsers(List<UUID> id, String password);
+        BulkResult<UserInfo> deleteUsers(List<UUID> id, String password);
+
+        BulkResult<UserInfo> updateUsersState(List<UUID> ids, UserInfo.UserInfoState state, String sessionId);
+
+        BulkResult<UserInfo> updateUsersRole(List<UUID> ids, UserInfo.UserInfoRole role, String sessionId);
+
+        BulkResult<InviteUserRequestDto> inviteUsers(List<InviteUserRequestDto> requests, String sessionId);
 
         Map<String, UserInfo> getUserInfoByCreatedBy(Set<String> setCreatedBy);
 }
@@ -12,6 +12,7 @@ import java.util.stream.Collectors;
 
 import com.endo4life.web.rest.model.CreateUserRequestDto;
 import com.endo4life.web.rest.model.InviteUserRequestDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateUserRequestDto;
 import com.endo4life.web.rest.model.UserInfoCriteria;
 import com.endo4life.web.rest.model.UserResponseDto;
@@ -21,13 +22,17 @@ import com.endo4life.constant.Constants;
 import com.endo4life.domain.document.UserInfo;
 import com.endo4life.domain.document.UserInfo.UserInfoRole;
 import com.endo4life.domain.document.UserInfo.UserInfoState;
+import com.endo4life.domain.dto.BulkResult;
+import com.endo4life.domain.dto.KeysetPage;
 import com.endo4life.mapper.UserInfoMapper;
 import com.endo4life.repository.UserInfoRepository;
 import com.endo4life.repository.specifications.UserInfoSpecifications;
 import com.endo4life.security.UserContextHolder;
+import com.endo4life.service.keycloak.KeycloakBulkExecutor;
 import com.endo4life.service.keycloak.KeycloakService;
 import com.endo4life.service.minio.MinioService;
 import com.endo4life.service.minio.MinioProperties;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.utils.StringUtil;
 import com.endo4life.web.rest.errors.BadRequestException;
 import com.endo4life.web.rest.errors.UserAlreadyExistsException;
@@ -39,6 +44,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -50,6 +56,7 @@ public class UserInfoServiceImpl implements UserInfoService {
     private final UserInfoRepository userInfoRepository;
     private final UserInfoMapper userInfoMapper;
     private final KeycloakService keycloakService;
+    private final KeycloakBulkExecutor keycloakBulkExecutor;
     private final MinioService minioService;
     private final MinioProperties minioProperties;
 
@@ -98,6 +105,21 @@ public class UserInfoServiceImpl implements UserInfoService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public UUID inviteUser(InviteUserRequestDto requestDto) {
+        return invite(requestDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult<InviteUserRequestDto> inviteUsers(List<InviteUserRequestDto> requests, String sessionId) {
+        if (CollectionUtils.isEmpty(requests)) {
+            throw new BadRequestException("Invalid users");
+        }
+        // Each invite saves its own row, so one failure does not undo the others
+        return keycloakBulkExecutor.execute("Invite users", requests, InviteUserRequestDto::getEmail,
+                this::invite, sessionId);
+    }
+
+    private UUID invite(InviteUserRequestDto requestDto) {
         if (!validateEmail(requestDto.getEmail())) {
             throw new BadRequestException("Invalid email format");
         }
@@ -149,14 +171,15 @@ public class UserInfoServiceImpl implements UserInfoService {
         UserInfo userInfo = userInfoRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        keycloakService.setUserStatusInKeycloak(List.of(userInfo.getUserId()), Boolean.FALSE);
+        keycloakService.setUserStatusInKeycloak(userInfo.getUserId(), false);
         userInfo.setState(UserInfoState.INACTIVE);
         userInfo.setIsDeleted(Boolean.TRUE);
         userInfoRepository.save(userInfo);
     }
 
     @Override
-    public void deleteUsers(List<UUID> ids, String password) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult<UserInfo> deleteUsers(List<UUID> ids, String password) {
         if (CollectionUtils.isEmpty(ids)) {
             throw new BadRequestException("Invalid ids");
         }
@@ -165,18 +188,52 @@ public class UserInfoServiceImpl implements UserInfoService {
         }
 
         List<UserInfo> users = userInfoRepository.findAllById(ids);
-        List<UUID> keycloakUserIds = users.stream()
-                .map(UserInfo::getUserId)
-                .toList();
-
-        keycloakService.setUserStatusInKeycloak(keycloakUserIds, false);
-
-        users.forEach(user -> {
+        BulkResult<UserInfo> result = keycloakBulkExecutor.execute("Delete users", users,
+                user -> user.getId().toString(),
+                user -> keycloakService.setUserStatusInKeycloak(user.getUserId(), false), null);
+        result.succeeded().forEach(user -> {
             user.setState(UserInfoState.INACTIVE);
             user.setIsDeleted(Boolean.TRUE);
         });
 
-        userInfoRepository.saveAll(users);
+        // Users Keycloak kept enabled stay as they are, so both sides agree
+        userInfoRepository.saveAll(result.succeeded());
+        if (!result.failures().isEmpty()) {
+            log.warn("Could not delete {} of {} users: {}", result.failures().size(), result.total(),
+                    result.failures());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult<UserInfo> updateUsersState(List<UUID> ids, UserInfoState state, String sessionId) {
+        if (CollectionUtils.isEmpty(ids) || state == null) {
+            throw new BadRequestException("Invalid ids or state");
+        }
+        List<UserInfo> users = userInfoRepository.findAllById(ids);
+        boolean isActive = state == UserInfoState.ACTIVE;
+        BulkResult<UserInfo> result = keycloakBulkExecutor.execute("Update user state", users,
+                user -> user.getId().toString(),
+                user -> keycloakService.setUserStatusInKeycloak(user.getUserId(), isActive), sessionId);
+        result.succeeded().forEach(user -> user.setState(state));
+        userInfoRepository.saveAll(result.succeeded());
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult<UserInfo> updateUsersRole(List<UUID> ids, UserInfoRole role, String sessionId) {
+        if (CollectionUtils.isEmpty(ids) || role == null) {
+            throw new BadRequestException("Invalid ids or role");
+        }
+        List<UserInfo> users = userInfoRepository.findAllById(ids);
+        BulkResult<UserInfo> result = keycloakBulkExecutor.execute("Update user role", users,
+                user -> user.getId().toString(),
+                user -> keycloakService.assignRoleToUser(user.getUserId(), role.getValue()), sessionId);
+        result.succeeded().forEach(user -> user.setRole(role));
+        userInfoRepository.saveAll(result.succeeded());
+        return result;
     }
 
     @Override
@@ -187,6 +244,12 @@ public class UserInfoServiceImpl implements UserInfoService {
         return new PageImpl<>(users.getContent(), pageable, users.getTotalElements());
     }
 
+    @Override
+    public KeysetPage<UserResponseDto> getUserByCriteria(UserInfoCriteria criteria, SeekPageRequest seek, int size) {
+        return KeysetPageUtil.findPage(userInfoRepository, UserInfoSpecifications.byCriteria(criteria), seek, size)
+                .map(userInfoMapper::toUserResponseDto);
+    }
+
     @Override
     public Map<String, UserInfo> getUserInfoByCreatedBy(Set<String> setCreatedBy) {
         if (CollectionUtils.isEmpty(setCreatedBy)) {
@@ -312,7 +375,7 @@ public class UserInfoServiceImpl implements UserInfoService {
                 // Update enabled status in Keycloak
                 try {
                     boolean isActive = newState == UserInfo.UserInfoState.ACTIVE;
-                    keycloakService.setUserStatusInKeycloak(List.of(userInfo.getUserId()), isActive);
+                    keycloakService.setUserStatusInKeycloak(userInfo.getUserId(), isActive);
                     log.info("Updated user state to: {}", newState);
                 } catch (Exception e) {
                     log.warn("Failed to update state in Keycloak (userId: {}), state updated in DB only: {}",
@@ -0,0 +1,230 @@
+package com.endo4life.service.usertest;
+
+import com.endo4life.constant.Constants;
+import com.endo4life.domain.document.Question;
+import com.endo4life.domain.document.Test;
+import com.endo4life.service.usertest.CompiledAnswerKey.AttachmentRef;
+import com.endo4life.service.usertest.CompiledAnswerKey.CompiledQuestion;
+import com.endo4life.web.rest.model.QuestionType;
+import com.endo4life.web.rest.model.StudentAnswerDto;
+import com.endo4life.web.rest.model.StudentQuestionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-test cache of {@link CompiledAnswerKey}s, so serving and grading a test
+ * does not parse the answers JSON of every question on every request.
+ * Entries are dropped when the test or one of its questions changes, and are
+ * recompiled when the test's {@code updatedAt} no longer matches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnswerKeyCache {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private Cache<UUID, CompiledAnswerKey> answerKeys;
+
+    @PostConstruct
+    private void init() {
+        this.answerKeys = Caffeine.newBuilder()
+                .maximumSize(Constants.ANSWER_KEY_CACHE_SIZE)
+                .expireAfterWrite(Constants.ANSWER_KEY_CACHE_TTL, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, answerKeys, "test.answer-keys");
+    }
+
+    /**
+     * Must be called inside a transaction, questions are loaded lazily on a miss.
+     */
+    public CompiledAnswerKey get(Test test) {
+        CompiledAnswerKey answerKey = answerKeys.getIfPresent(test.getId());
+        if (answerKey != null && Objects.equals(answerKey.version(), test.getUpdatedAt())) {
+            return answerKey;
+        }
+        return refresh(test);
+    }
+
+    /**
+     * Compiles the key from the current questions and replaces the cached entry.
+     * Editing a question does not change the test's {@code updatedAt}, and other
+     * instances only drop their entry when it expires, so callers that must see
+     * the latest key use this instead of {@link #get}. Must be called inside a
+     * transaction.
+     */
+    public CompiledAnswerKey refresh(Test test) {
+        CompiledAnswerKey answerKey = compile(test);
+        answerKeys.put(test.getId(), answerKey);
+        return answerKey;
+    }
+
+    /**
+     * Drops the key now and again after the surrounding transaction commits, so
+     * a concurrent reader cannot re-cache the pre-update state.
+     */
+    public void invalidate(UUID testId) {
+        if (testId == null) {
+            return;
+        }
+        answerKeys.invalidate(testId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    answerKeys.invalidate(testId);
+                }
+            });
+        }
+    }
+
+    private CompiledAnswerKey compile(Test test) {
+        Map<UUID, CompiledQuestion> questions = new LinkedHashMap<>();
+        test.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(question -> questions.put(question.getId(), compile(question)));
+        log.debug("Compiled answer key for test {} with {} questions", test.getId(), questions.size());
+        return new CompiledAnswerKey(test.getUpdatedAt(), Collections.unmodifiableMap(questions));
+    }
+
+    private CompiledQuestion compile(Question question) {
+        List<StudentAnswerDto> answers = new ArrayList<>();
+        Set<UUID> correctAnswers = new LinkedHashSet<>();
+        parseAnswers(question.getAnswers(), answers, correctAnswers);
+
+        StudentQuestionDto dto = new StudentQuestionDto();
+        dto.setId(question.getId());
+        dto.setTitle(question.getTitle());
+        dto.setDescription(question.getDescription());
+        dto.setType(QuestionType.fromValue(question.getType()));
+        dto.setOrderIndex(question.getOrderIndex());
+        dto.setAnswers(Collections.unmodifiableList(answers));
+
+        List<AttachmentRef> attachments = question.getAttachments() == null
+                ? List.of()
+                : question.getAttachments().stream()
+                        .map(attachment -> new AttachmentRef(attachment.getId(), attachment.getFileName(),
+                                attachment.getFileType(), attachment.getFileSize(), attachment.getWidth(),
+                                attachment.getHeight(), attachment.getObjectKey(), attachment.getBucket()))
+                        .toList();
+
+        return new CompiledQuestion(dto, attachments, Collections.unmodifiableSet(correctAnswers),
+                List.copyOf(correctAnswers));
+    }
+
+    /**
+     * Answer content is shared by every student served from the cache, so it is
+     * made read-only all the way down.
+     */
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> frozen = new LinkedHashMap<>();
+            map.forEach((key, nested) -> frozen.put(key, freeze(nested)));
+            return Collections.unmodifiableMap(frozen);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> frozen = new ArrayList<>(list.size());
+            list.forEach(nested -> frozen.add(freeze(nested)));
+            return Collections.unmodifiableList(frozen);
+        }
+        return value;
+    }
+
+    /**
+     * Parses the answers JSON once into the student view, without correct
+     * flags, and the set of correct answer ids.
+     */
+    @SuppressWarnings("unchecked")
+    private void parseAnswers(String answersJson, List<StudentAnswerDto> answers, Set<UUID> correctAnswers) {
+        if (answersJson == null || answersJson.isEmpty()) {
+            log.warn("Answers JSON is null or empty");
+            return;
+        }
+
+        try {
+            Object answersObject = objectMapper.readValue(answersJson, Object.class);
+
+            // Format 1: [{id, content, isCorrect}] - Admin UI format
+            if (answersObject instanceof List) {
+                for (Map<String, Object> answer : (List<Map<String, Object>>) answersObject) {
+                    UUID id = UUID.fromString((String) answer.get("id"));
+                    if (Boolean.TRUE.equals(answer.get("isCorrect"))) {
+                        correctAnswers.add(id);
+                    }
+                    StudentAnswerDto dto = new StudentAnswerDto();
+                    dto.setId(id);
+
+                    // Remove isCorrect from content
+                    Map<String, Object> content = new HashMap<>(answer);
+                    content.remove("isCorrect");
+                    dto.setContent(freeze(content));
+                    answers.add(dto);
+                }
+                return;
+            }
+
+            // Format 2: {options: [{id, text}], correctAnswers: []} - Direct API format
+            if (answersObject instanceof Map) {
+                Map<String, Object> answersMap = (Map<String, Object>) answersObject;
+                if (answersMap.containsKey("options")) {
+                    for (Map<String, Object> option : (List<Map<String, Object>>) answersMap.get("options")) {
+                        StudentAnswerDto dto = new StudentAnswerDto();
+                        // For options format, id might be a String like "a", "b", not UUID
+                        if (option.get("id") instanceof String idStr) {
+                            dto.setId(toAnswerId(idStr));
+                        }
+                        // Don't include correctAnswers in the content
+                        dto.setContent(freeze(option));
+                        answers.add(dto);
+                    }
+                }
+                if (answersMap.containsKey("correctAnswers")) {
+                    for (String idStr : (List<String>) answersMap.get("correctAnswers")) {
+                        correctAnswers.add(toAnswerId(idStr));
+                    }
+                }
+                if (answersMap.containsKey("options") || answersMap.containsKey("correctAnswers")) {
+                    return;
+                }
+            }
+
+            log.warn("Unknown answers format: {}", answersJson);
+        } catch (Exception e) {
+            log.error("Failed to parse answers JSON: {}", answersJson, e);
+            answers.clear();
+            correctAnswers.clear();
+        }
+    }
+
+    private UUID toAnswerId(String idStr) {
+        try {
+            return UUID.fromString(idStr);
+        } catch (IllegalArgumentException e) {
+            // If not UUID, generate a deterministic UUID from the string
+            return UUID.nameUUIDFromBytes(idStr.getBytes());
+        }
+    }
+}
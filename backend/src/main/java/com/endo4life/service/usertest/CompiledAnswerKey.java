@@ -0,0 +1,34 @@
+package com.endo4life.service.usertest;
+
+import com.endo4life.web.rest.model.StudentQuestionDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answer key of one test, compiled once from the stored answers JSON.
+ *
+ * @param version   {@code updatedAt} of the test it was compiled from
+ * @param questions questions keyed by id, in display order
+ */
+public record CompiledAnswerKey(LocalDateTime version, Map<UUID, CompiledQuestion> questions) {
+
+    /**
+     * @param student        student view with correct flags removed and without
+     *                       attachment links, which expire and are signed per request
+     * @param attachments    attachments to sign when the question is served
+     * @param correctAnswers ids of the correct answers
+     */
+    public record CompiledQuestion(StudentQuestionDto student,
+                                   List<AttachmentRef> attachments,
+                                   Set<UUID> correctAnswers,
+                                   List<UUID> correctAnswerList) {
+    }
+
+    public record AttachmentRef(UUID id, String fileName, String fileType, Integer fileSize,
+                                Integer width, Integer height, UUID objectKey, String bucket) {
+    }
+}
@@ -35,5 +35,10 @@ public interface UserTestService {
      * Get final exam for a course
      */
     StudentTestDto getFinalExam(UUID courseId, UUID userInfoId);
+
+    /**
+     * Re-grade every stored submission of a test against its current answer key
+     */
+    RegradeResultDto regradeSubmissions(UUID testId);
 }
 
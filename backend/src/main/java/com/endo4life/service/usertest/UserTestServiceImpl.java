@@ -1,9 +1,13 @@
 package com.endo4life.service.usertest;
 
+import com.endo4life.constant.Constants;
 import com.endo4life.domain.document.*;
+import com.endo4life.domain.dto.StoredSubmission;
 import com.endo4life.repository.*;
-import com.endo4life.service.certificate.CertificateService;
+import com.endo4life.service.certificate.CertificateIssuanceQueue;
 import com.endo4life.service.minio.MinioService;
+import com.endo4life.service.usertest.CompiledAnswerKey.AttachmentRef;
+import com.endo4life.service.usertest.CompiledAnswerKey.CompiledQuestion;
 import com.endo4life.web.rest.model.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -12,12 +16,17 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,7 +44,10 @@ public class UserTestServiceImpl implements UserTestService {
     private final UserProgressCourseSectionRepository userProgressCourseSectionRepository;
     private final MinioService minioService;
     private final ObjectMapper objectMapper;
-    private final CertificateService certificateService;
+    private final CertificateIssuanceQueue certificateIssuanceQueue;
+    private final AnswerKeyCache answerKeyCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int DEFAULT_PASSING_SCORE = 70; // 70%
 
@@ -140,6 +152,83 @@ public class UserTestServiceImpl implements UserTestService {
         return getTestQuestions(test.getId(), userInfoId);
     }
 
+    /**
+     * Runs outside the class-wide transaction and commits each chunk on its own.
+     * Regrading only rewrites scores derived from stored answers, so a partially
+     * applied run is consistent and running it again completes it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RegradeResultDto regradeSubmissions(UUID testId) {
+        // Regrades follow key corrections, so never grade against a cached key
+        CompiledAnswerKey answerKey = transactionTemplate.execute(status -> answerKeyCache.refresh(
+                testRepository.findById(testId)
+                        .orElseThrow(() -> new NotFoundException("Test not found with id: " + testId))));
+
+        // Sign each question's attachments once for the whole run
+        Map<UUID, StudentQuestionDto> questionViews = answerKey.questions().values().stream()
+                .collect(Collectors.toMap(question -> question.student().getId(), this::buildStudentQuestionDto));
+        Function<CompiledQuestion, StudentQuestionDto> questionView =
+                question -> questionViews.get(question.student().getId());
+
+        int total = 0;
+        int changed = 0;
+        int failed = 0;
+        // Keyset over ids, starting below the smallest UUID
+        UUID afterId = new UUID(0L, 0L);
+        List<StoredSubmission> chunk;
+        do {
+            chunk = userTestSubmissionRepository.findChunkForRegrade(testId, afterId,
+                    PageRequest.of(0, Constants.REGRADE_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            // Grading is CPU-bound and independent per submission; unreadable rows are skipped
+            List<Regraded> regraded = chunk.parallelStream()
+                    .map(submission -> regrade(submission, answerKey, questionView))
+                    .flatMap(Optional::stream)
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE user_test_submission SET score = ?, correct_count = ?, total_questions = ?,"
+                            + " passed = ?, grading_details = ?, updated_at = now() WHERE id = ?",
+                    regraded.stream()
+                            .map(row -> new Object[] { row.result().getScore(), row.result().getCorrectCount(),
+                                    row.result().getTotalQuestions(), row.result().getPassed(),
+                                    row.gradingDetails(), row.id() })
+                            .toList()));
+            total += regraded.size();
+            changed += (int) regraded.stream().filter(Regraded::changed).count();
+            failed += chunk.size() - regraded.size();
+            afterId = chunk.get(chunk.size() - 1).id();
+        } while (chunk.size() == Constants.REGRADE_CHUNK_SIZE);
+
+        log.info("Regraded {} submissions of test {}, {} changed, {} failed", total, testId, changed, failed);
+        return new RegradeResultDto().testId(testId).total(total).changed(changed).failed(failed);
+    }
+
+    private record Regraded(UUID id, TestResultDto result, String gradingDetails, boolean changed) {
+    }
+
+    private Optional<Regraded> regrade(StoredSubmission submission, CompiledAnswerKey answerKey,
+            Function<CompiledQuestion, StudentQuestionDto> questionView) {
+        try {
+            List<SubmittedAnswerDto> answers = submission.submittedAnswers() == null
+                    ? List.of()
+                    : objectMapper.readValue(submission.submittedAnswers(),
+                            new TypeReference<List<SubmittedAnswerDto>>() {
+                            });
+            TestResultDto result = grade(answerKey, answers, questionView);
+            boolean changed = !Objects.equals(result.getScore(), submission.score())
+                    || !Objects.equals(result.getPassed(), submission.passed());
+            return Optional.of(new Regraded(submission.id(), result,
+                    objectMapper.writeValueAsString(result.getQuestions()), changed));
+        } catch (JsonProcessingException e) {
+            // Leave the stored grade untouched and let the rest of the run continue
+            log.error("Failed to regrade submission {}", submission.id(), e);
+            return Optional.empty();
+        }
+    }
+
     // Helper methods
 
     private StudentTestDto buildStudentTestDto(Test test) {
@@ -151,8 +240,7 @@ public class UserTestServiceImpl implements UserTestService {
         dto.setType(test.getType());
         dto.setPassingScore(DEFAULT_PASSING_SCORE);
 
-        List<StudentQuestionDto> questionDtos = test.getQuestions().stream()
-                .sorted(Comparator.comparing(Question::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder())))
+        List<StudentQuestionDto> questionDtos = answerKeyCache.get(test).questions().values().stream()
                 .map(this::buildStudentQuestionDto)
                 .collect(Collectors.toList());
 
@@ -160,108 +248,48 @@ public class UserTestServiceImpl implements UserTestService {
         return dto;
     }
 
-    private StudentQuestionDto buildStudentQuestionDto(Question question) {
+    private StudentQuestionDto buildStudentQuestionDto(CompiledQuestion question) {
+        // The compiled view is shared through the cache, so every request gets its own DTOs
+        StudentQuestionDto compiled = question.student();
         StudentQuestionDto dto = new StudentQuestionDto();
-        dto.setId(question.getId());
-        dto.setTitle(question.getTitle());
-        dto.setDescription(question.getDescription());
-        dto.setType(QuestionType.fromValue(question.getType()));
-        dto.setOrderIndex(question.getOrderIndex());
-
-        // Parse answers and hide correct answer flag
-        List<StudentAnswerDto> answerDtos = parseAndHideAnswers(question.getAnswers());
-        dto.setAnswers(answerDtos);
+        dto.setId(compiled.getId());
+        dto.setTitle(compiled.getTitle());
+        dto.setDescription(compiled.getDescription());
+        dto.setType(compiled.getType());
+        dto.setOrderIndex(compiled.getOrderIndex());
+        dto.setAnswers(compiled.getAnswers().stream()
+                .map(answer -> {
+                    StudentAnswerDto answerDto = new StudentAnswerDto();
+                    answerDto.setId(answer.getId());
+                    answerDto.setContent(answer.getContent());
+                    return answerDto;
+                })
+                .collect(Collectors.toList()));
 
         // Add attachments with pre-signed URLs
-        if (question.getAttachments() != null && !question.getAttachments().isEmpty()) {
-            List<QuestionAttachmentResponseDto> attachmentDtos = question.getAttachments().stream()
+        if (!question.attachments().isEmpty()) {
+            dto.setAttachments(question.attachments().stream()
                     .map(this::buildAttachmentDto)
-                    .collect(Collectors.toList());
-            dto.setAttachments(attachmentDtos);
+                    .collect(Collectors.toList()));
         }
 
         return dto;
     }
 
-    private List<StudentAnswerDto> parseAndHideAnswers(String answersJson) {
-        if (answersJson == null || answersJson.isEmpty()) {
-            log.warn("Answers JSON is null or empty");
-            return new ArrayList<>();
-        }
-
-        try {
-            log.debug("Parsing answers JSON: {}", answersJson);
-
-            // Try to parse as generic object first to detect format
-            Object answersObject = objectMapper.readValue(answersJson, Object.class);
-
-            // Format 1: [{id, content, isCorrect}] - Admin UI format
-            if (answersObject instanceof List) {
-                List<Map<String, Object>> answers = objectMapper.readValue(answersJson,
-                        new TypeReference<List<Map<String, Object>>>() {
-                        });
-                log.debug("Parsed {} answers in array format", answers.size());
-                return answers.stream().map(answer -> {
-                    StudentAnswerDto dto = new StudentAnswerDto();
-                    dto.setId(UUID.fromString((String) answer.get("id")));
-
-                    // Remove isCorrect from content
-                    Map<String, Object> content = new HashMap<>(answer);
-                    content.remove("isCorrect");
-                    dto.setContent(content);
-
-                    return dto;
-                }).collect(Collectors.toList());
-            }
-
-            // Format 2: {options: [{id, text}], correctAnswers: []} - Direct API format
-            if (answersObject instanceof Map) {
-                Map<String, Object> answersMap = (Map<String, Object>) answersObject;
-                if (answersMap.containsKey("options")) {
-                    List<Map<String, Object>> options = (List<Map<String, Object>>) answersMap.get("options");
-                    log.debug("Parsed {} answers in options format", options.size());
-                    return options.stream().map(option -> {
-                        StudentAnswerDto dto = new StudentAnswerDto();
-                        // For options format, id might be a String like "a", "b", not UUID
-                        Object idObj = option.get("id");
-                        if (idObj instanceof String) {
-                            String idStr = (String) idObj;
-                            try {
-                                dto.setId(UUID.fromString(idStr));
-                            } catch (IllegalArgumentException e) {
-                                // If not UUID, generate a deterministic UUID from the string
-                                dto.setId(UUID.nameUUIDFromBytes(idStr.getBytes()));
-                            }
-                        }
-                        // Don't include correctAnswers in the content
-                        dto.setContent(option);
-                        return dto;
-                    }).collect(Collectors.toList());
-                }
-            }
-
-            log.warn("Unknown answers format: {}", answersJson);
-            return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Failed to parse answers JSON: {}", answersJson, e);
-            return new ArrayList<>();
-        }
-    }
-
-    private QuestionAttachmentResponseDto buildAttachmentDto(QuestionAttachment attachment) {
+    private QuestionAttachmentResponseDto buildAttachmentDto(AttachmentRef attachment) {
         QuestionAttachmentResponseDto dto = new QuestionAttachmentResponseDto();
-        dto.setId(attachment.getId());
-        dto.setFileName(attachment.getFileName());
-        dto.setFileType(attachment.getFileType());
-        dto.setFileSize(attachment.getFileSize());
-        dto.setWidth(attachment.getWidth());
-        dto.setHeight(attachment.getHeight());
+        dto.setId(attachment.id());
+        dto.setFileName(attachment.fileName());
+        dto.setFileType(attachment.fileType());
+        dto.setFileSize(attachment.fileSize());
+        dto.setWidth(attachment.width());
+        dto.setHeight(attachment.height());
 
         // Generate pre-signed URL from objectKey and bucket
-        if (attachment.getObjectKey() != null && attachment.getBucket() != null) {
+        if (attachment.objectKey() != null && attachment.bucket() != null) {
             String preSignedUrl = minioService.createGetPreSignedLink(
-                    attachment.getObjectKey().toString(),
-                    attachment.getBucket());
+                    attachment.objectKey().toString(),
+                    attachment.bucket());
             dto.setFileUrl(preSignedUrl);
         }
 
@@ -269,27 +297,31 @@ public class UserTestServiceImpl implements UserTestService {
     }
 
     private TestResultDto gradeTest(Test test, TestSubmissionDto submission) {
-        TestResultDto result = new TestResultDto();
+        TestResultDto result = grade(answerKeyCache.get(test), submission.getAnswers(), this::buildStudentQuestionDto);
         result.setTestId(test.getId());
         result.setUserId(submission.getUserInfoId());
         result.setSubmittedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return result;
+    }
 
-        List<QuestionResultDto> questionResults = new ArrayList<>();
+    /**
+     * Grades answers against a compiled key. Questions are looked up by id, so
+     * a submission is graded in linear time; {@code questionView} supplies the
+     * student view embedded in each question result.
+     */
+    private TestResultDto grade(CompiledAnswerKey answerKey, List<SubmittedAnswerDto> answers,
+            Function<CompiledQuestion, StudentQuestionDto> questionView) {
+        Map<UUID, CompiledQuestion> questions = answerKey.questions();
+        List<QuestionResultDto> questionResults = new ArrayList<>(answers.size());
         int correctCount = 0;
-        int totalQuestions = test.getQuestions().size();
-
-        // Parse stored answers
-        Map<UUID, List<UUID>> correctAnswersMap = new HashMap<>();
-        for (Question question : test.getQuestions()) {
-            List<UUID> correctAnswerIds = parseCorrectAnswers(question.getAnswers());
-            correctAnswersMap.put(question.getId(), correctAnswerIds);
-        }
+        int totalQuestions = questions.size();
 
         // Grade each question
-        for (SubmittedAnswerDto submittedAnswer : submission.getAnswers()) {
+        for (SubmittedAnswerDto submittedAnswer : answers) {
             UUID questionId = submittedAnswer.getQuestionId();
             List<UUID> selectedAnswers = submittedAnswer.getSelectedAnswers();
-            List<UUID> correctAnswers = correctAnswersMap.get(questionId);
+            CompiledQuestion compiledQuestion = questions.get(questionId);
+            Set<UUID> correctAnswers = compiledQuestion != null ? compiledQuestion.correctAnswers() : null;
 
             boolean isCorrect = checkAnswerCorrectness(selectedAnswers, correctAnswers);
             if (isCorrect) {
@@ -297,22 +329,18 @@ public class UserTestServiceImpl implements UserTestService {
             }
 
             // Build question result
-            Question question = test.getQuestions().stream()
-                    .filter(q -> q.getId().equals(questionId))
-                    .findFirst()
-                    .orElse(null);
-
-            if (question != null) {
+            if (compiledQuestion != null) {
                 QuestionResultDto questionResult = new QuestionResultDto();
                 questionResult.setQuestionId(questionId);
                 questionResult.setCorrect(isCorrect);
                 questionResult.setSelectedAnswers(selectedAnswers);
-                questionResult.setCorrectAnswers(correctAnswers);
-                questionResult.setQuestion(buildStudentQuestionDto(question));
+                questionResult.setCorrectAnswers(compiledQuestion.correctAnswerList());
+                questionResult.setQuestion(questionView.apply(compiledQuestion));
                 questionResults.add(questionResult);
             }
         }
 
+        TestResultDto result = new TestResultDto();
         result.setCorrectCount(correctCount);
         result.setTotalQuestions(totalQuestions);
         int score = totalQuestions > 0 ? (correctCount * 100 / totalQuestions) : 0;
@@ -323,51 +351,7 @@ public class UserTestServiceImpl implements UserTestService {
         return result;
     }
 
-    private List<UUID> parseCorrectAnswers(String answersJson) {
-        if (answersJson == null || answersJson.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        try {
-            // Try to parse as generic object first to detect format
-            Object answersObject = objectMapper.readValue(answersJson, Object.class);
-
-            // Format 1: [{id, content, isCorrect}] - Admin UI format
-            if (answersObject instanceof List) {
-                List<Map<String, Object>> answers = objectMapper.readValue(answersJson,
-                        new TypeReference<List<Map<String, Object>>>() {
-                        });
-                return answers.stream()
-                        .filter(answer -> Boolean.TRUE.equals(answer.get("isCorrect")))
-                        .map(answer -> UUID.fromString((String) answer.get("id")))
-                        .collect(Collectors.toList());
-            }
-
-            // Format 2: {options: [{id, text}], correctAnswers: []} - Direct API format
-            if (answersObject instanceof Map) {
-                Map<String, Object> answersMap = (Map<String, Object>) answersObject;
-                if (answersMap.containsKey("correctAnswers")) {
-                    List<String> correctAnswerIds = (List<String>) answersMap.get("correctAnswers");
-                    return correctAnswerIds.stream().map(idStr -> {
-                        try {
-                            return UUID.fromString(idStr);
-                        } catch (IllegalArgumentException e) {
-                            // If not UUID, generate a deterministic UUID from the string
-                            return UUID.nameUUIDFromBytes(idStr.getBytes());
-                        }
-                    }).collect(Collectors.toList());
-                }
-            }
-
-            log.warn("Unknown answers format for grading: {}", answersJson);
-            return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Failed to parse answers JSON for grading", e);
-            return new ArrayList<>();
-        }
-    }
-
-    private boolean checkAnswerCorrectness(List<UUID> selectedAnswers, List<UUID> correctAnswers) {
+    private boolean checkAnswerCorrectness(List<UUID> selectedAnswers, Set<UUID> correctAnswers) {
         if (selectedAnswers == null || selectedAnswers.isEmpty()) {
             return correctAnswers == null || correctAnswers.isEmpty();
         }
@@ -375,10 +359,8 @@ public class UserTestServiceImpl implements UserTestService {
             return false;
         }
 
-        Set<UUID> selectedSet = new HashSet<>(selectedAnswers);
-        Set<UUID> correctSet = new HashSet<>(correctAnswers);
-
-        return selectedSet.equals(correctSet);
+        // Same as comparing both as sets, without copying the selection
+        return correctAnswers.containsAll(selectedAnswers) && selectedAnswers.containsAll(correctAnswers);
     }
 
     private void saveSubmission(Test test, UserInfo userInfo, TestSubmissionDto submission, TestResultDto result) {
@@ -499,17 +481,9 @@ public class UserTestServiceImpl implements UserTestService {
                 registration.setIsCompletedFinalCourseTest(true);
                 registration.setIsCompletedCourse(true);
 
-                // Generate course completion certificate
-                try {
-                    Certificate certificate = certificateService.generateCourseCompletionCertificate(userInfo, course);
-                    registration.setCourseCertificateId(certificate.getId());
-                    log.info("Generated course completion certificate {} for user {} in course {}",
-                            certificate.getId(), userInfo.getId(), course.getId());
-                } catch (Exception e) {
-                    log.error("Failed to generate course completion certificate for user {} in course {}: {}",
-                            userInfo.getId(), course.getId(), e.getMessage(), e);
-                    // Continue even if certificate generation fails
-                }
+                // Issued in the background once this submission commits; the
+                // certificate id is set on the registration by the worker
+                certificateIssuanceQueue.enqueue(userInfo.getId(), course.getId());
 
                 log.info("Updated final exam completion for user {} in course {}", userInfo.getId(), course.getId());
                 break;
@@ -0,0 +1,106 @@
+package com.endo4life.service.viewcount;
+
+import com.endo4life.constant.Constants;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter. Detail views only bump an in-memory
+ * {@link LongAdder}; the accumulated deltas are written in one batched UPDATE
+ * per table on a schedule and at shutdown, so popular rows are no longer
+ * locked on every read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountAggregator {
+
+    public enum ViewTarget {
+        RESOURCE("resource"),
+        COURSE("course");
+
+        private final String table;
+
+        ViewTarget(String table) {
+            this.table = table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<ViewTarget, Map<UUID, LongAdder>> views = new EnumMap<>(Map.of(
+            ViewTarget.RESOURCE, new ConcurrentHashMap<>(),
+            ViewTarget.COURSE, new ConcurrentHashMap<>()));
+
+    public void recordView(ViewTarget target, UUID id) {
+        add(views.get(target), id, 1);
+    }
+
+    /**
+     * Views recorded since the last flush, to be added to the persisted count.
+     */
+    public int pendingViews(ViewTarget target, UUID id) {
+        LongAdder adder = views.get(target).get(id);
+        return Objects.isNull(adder) ? 0 : adder.intValue();
+    }
+
+    @Scheduled(fixedDelay = Constants.VIEW_COUNT_FLUSH_INTERVAL)
+    public void flush() {
+        for (ViewTarget target : ViewTarget.values()) {
+            flush(target);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending view counts before shutdown");
+        flush();
+    }
+
+    private void flush(ViewTarget target) {
+        Map<UUID, LongAdder> counters = views.get(target);
+        List<Object[]> deltas = new ArrayList<>();
+        counters.forEach((id, adder) -> counters.computeIfPresent(id, (key, current) -> {
+            long delta = current.sumThenReset();
+            if (delta > 0) {
+                deltas.add(new Object[]{delta, key});
+            }
+            // Drained counters are dropped so ids that are no longer viewed do not pile up
+            return null;
+        }));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE " + target.table
+                    + " SET view_number = COALESCE(view_number, 0) + ? WHERE id = ?", deltas);
+            log.debug("Flushed view counts of {} {} rows", deltas.size(), target.table);
+        } catch (Exception e) {
+            log.error("Failed to flush view counts of {}: {}", target.table, e.getMessage());
+            // Put the deltas back so they go out with the next flush
+            deltas.forEach(delta -> add(counters, (UUID) delta[1], (long) delta[0]));
+        }
+    }
+
+    // Counts are only added under the map's per-key lock, so none can land on a counter a flush just removed
+    private void add(Map<UUID, LongAdder> counters, UUID id, long count) {
+        counters.compute(id, (key, adder) -> {
+            LongAdder counter = Objects.isNull(adder) ? new LongAdder() : adder;
+            counter.add(count);
+            return counter;
+        });
+    }
+}
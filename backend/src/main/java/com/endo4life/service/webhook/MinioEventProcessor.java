@@ -0,0 +1,85 @@
+package com.endo4life.service.webhook;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.constant.Constants;
+import com.endo4life.domain.dto.MediaProbeResult;
+import com.endo4life.domain.enumeration.MinIOEventAction;
+import com.endo4life.service.media.MediaProbe;
+import com.endo4life.service.minio.MinioService;
+import com.endo4life.service.resource.ResourceService;
+import com.endo4life.utils.FileUtil;
+import jakarta.annotation.PostConstruct;
+import jdk.jfr.Description;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Does the actual work for a queued MinIO event. Runs on the webhook worker
+ * pool, never on the HTTP request thread. Failures are thrown so the queue can
+ * retry the event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MinioEventProcessor {
+
+    private final ApplicationProperties applicationProperties;
+    private final ResourceService resourceService;
+    private final MinioService minioService;
+    private final MediaProbe mediaProbe;
+    private ApplicationProperties.MinioConfiguration minioConfig;
+
+    @PostConstruct
+    private void init() {
+        this.minioConfig = applicationProperties.minioConfiguration();
+    }
+
+    public void process(MinIOEventAction action, String bucket, String objectKey) throws IOException {
+        switch (action) {
+            case PUT, COMPLETE_MULTIPART_UPLOAD, COPY -> processMinioPutEvent(bucket, objectKey);
+            default -> log.warn("Unsupported queued action: {}", action);
+        }
+    }
+
+    @Description("Handle Put event - auto-generate thumbnails or process compressed files")
+    private void processMinioPutEvent(String bucket, String objectKey) throws IOException {
+        log.info("processPutEvent called for bucket: {}, key: {}", bucket, objectKey);
+
+        // Handle compressed files from process bucket
+        if (StringUtils.equalsIgnoreCase(bucket, minioConfig.bucketProcess())) {
+            String extension = FileUtil.getFileExtension(objectKey);
+
+            if (Constants.COMPRESSED_EXTENSIONS.contains(extension)) {
+                log.info("Processing compressed file: {}", objectKey);
+                // The archive is streamed from MinIO to disk, never buffered in memory
+                resourceService.handleCompressedFile(bucket, objectKey);
+            } else {
+                // Handle other process bucket files if needed
+                log.info("Non-compressed file in process bucket: {}", objectKey);
+            }
+
+            // Remove the file from process bucket after processing
+            minioService.removeFile(objectKey, bucket);
+            return;
+        }
+
+        // One read of the object yields the thumbnail source and all metadata
+        MediaProbeResult probe = mediaProbe.probe(bucket, objectKey, true);
+
+        MultipartFile frame = FileUtil.toMultipartFile(
+                probe.firstFrame(),
+                objectKey,
+                Constants.THUMBNAIL_CONTENT_TYPE);
+
+        // Generate thumbnails (resource already has thumbnail name set)
+        resourceService.createThumbnail(frame);
+
+        // Update resource metadata (size, dimension, extension)
+        resourceService.updateResourceThumbnail(objectKey, probe);
+    }
+}
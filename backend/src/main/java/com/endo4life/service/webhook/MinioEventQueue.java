@@ -0,0 +1,203 @@
+package com.endo4life.service.webhook;
+
+import com.endo4life.config.ApplicationProperties;
+import com.endo4life.domain.document.MinioEvent;
+import com.endo4life.domain.dto.DetailMinIOEventDto;
+import com.endo4life.domain.enumeration.MinioEventStatus;
+import com.endo4life.repository.MinioEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable queue of MinIO webhook events backed by the {@code minio_event}
+ * table. The webhook endpoint only enqueues; a dispatcher thread claims due
+ * events and hands them to the webhook worker pool, retrying failures with
+ * exponential backoff.
+ */
+@Slf4j
+@Component
+public class MinioEventQueue {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final MinioEventRepository minioEventRepository;
+    private final MinioEventProcessor minioEventProcessor;
+    private final Executor webhookExecutor;
+    private final ApplicationProperties.WebhookQueue queueConfig;
+
+    private final Semaphore idleWorkers;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Counter enqueued;
+    private final Counter deduplicated;
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer processingTimer;
+    private final Timer latencyTimer;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public MinioEventQueue(MinioEventRepository minioEventRepository,
+            MinioEventProcessor minioEventProcessor,
+            @Qualifier("webhookExecutor") Executor webhookExecutor,
+            ApplicationProperties applicationProperties,
+            MeterRegistry meterRegistry) {
+        this.minioEventRepository = minioEventRepository;
+        this.minioEventProcessor = minioEventProcessor;
+        this.webhookExecutor = webhookExecutor;
+        this.queueConfig = applicationProperties.webhookQueue();
+        this.idleWorkers = new Semaphore(queueConfig.workers());
+
+        Gauge.builder("minio.webhook.queue.depth", queueDepth, AtomicLong::get)
+                .description("MinIO events waiting to be processed")
+                .register(meterRegistry);
+        this.enqueued = meterRegistry.counter("minio.webhook.events", "outcome", "enqueued");
+        this.deduplicated = meterRegistry.counter("minio.webhook.events", "outcome", "deduplicated");
+        this.succeeded = meterRegistry.counter("minio.webhook.events", "outcome", "succeeded");
+        this.retried = meterRegistry.counter("minio.webhook.events", "outcome", "retried");
+        this.failed = meterRegistry.counter("minio.webhook.events", "outcome", "failed");
+        this.processingTimer = Timer.builder("minio.webhook.processing")
+                .description("Time spent processing a single MinIO event")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("minio.webhook.latency")
+                .description("Time from receiving a MinIO event to finishing it")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(DetailMinIOEventDto eventDetail) {
+        int inserted = minioEventRepository.enqueue(UUID.randomUUID(), eventDetail.action().name(),
+                eventDetail.bucket(), eventDetail.objectKey());
+        if (inserted == 0) {
+            log.debug("Event for {}/{} already pending, skipped", eventDetail.bucket(), eventDetail.objectKey());
+            deduplicated.increment();
+            return;
+        }
+        enqueued.increment();
+        wakeUp.release();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "minio-event-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void dispatchLoop() {
+        log.info("MinIO event dispatcher started with {} workers", queueConfig.workers());
+        while (running) {
+            try {
+                if (dispatch() == 0) {
+                    // Sleep until a new event or a free worker, polling for due retries meanwhile
+                    wakeUp.tryAcquire(queueConfig.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to dispatch MinIO events: {}", e.getMessage());
+                try {
+                    Thread.sleep(queueConfig.pollInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatch() {
+        queueDepth.set(minioEventRepository.countByStatus(MinioEventStatus.PENDING));
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return 0;
+        }
+        List<MinioEvent> events = minioEventRepository.claimDue(idle, queueConfig.lease().toSeconds());
+        for (MinioEvent event : events) {
+            idleWorkers.acquireUninterruptibly();
+            webhookExecutor.execute(() -> process(event));
+        }
+        return events.size();
+    }
+
+    private void process(MinioEvent event) {
+        long start = System.nanoTime();
+        try {
+            minioEventProcessor.process(event.getAction(), event.getBucket(), event.getObjectKey());
+            minioEventRepository.complete(event.getId());
+            succeeded.increment();
+            latencyTimer.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        } catch (Exception e) {
+            onFailure(event, e);
+        } finally {
+            processingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            idleWorkers.release();
+            wakeUp.release();
+        }
+    }
+
+    private void onFailure(MinioEvent event, Exception cause) {
+        String error = StringUtils.abbreviate(ExceptionUtils.getRootCauseMessage(cause), MAX_ERROR_LENGTH);
+        try {
+            if (event.getAttempts() >= queueConfig.maxAttempts()) {
+                log.error("Giving up on {}/{} after {} attempts: {}", event.getBucket(), event.getObjectKey(),
+                        event.getAttempts(), error);
+                minioEventRepository.markFailed(event.getId(), error);
+                failed.increment();
+                return;
+            }
+            Duration delay = backoff(event.getAttempts());
+            log.warn("Processing {}/{} failed (attempt {}), retrying in {}: {}", event.getBucket(),
+                    event.getObjectKey(), event.getAttempts(), delay, error);
+            if (minioEventRepository.reschedule(event.getId(), delay.toSeconds(), error) == 0) {
+                // A newer event for the same object is pending and will redo the work
+                minioEventRepository.complete(event.getId());
+            }
+            retried.increment();
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race against a newly enqueued event for the same object
+            minioEventRepository.complete(event.getId());
+        } catch (Exception e) {
+            // The lease expires and the event is retried anyway
+            log.error("Failed to record failure of MinIO event {}: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = queueConfig.initialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(queueConfig.maxBackoff()) > 0 ? queueConfig.maxBackoff() : delay;
+    }
+}
@@ -0,0 +1,80 @@
+package com.endo4life.utils;
+
+import com.endo4life.domain.document.AbstractEntity;
+import com.endo4life.domain.dto.KeysetPage;
+import com.endo4life.repository.specifications.KeysetSpecifications;
+import com.endo4life.web.rest.errors.BadRequestException;
+import com.endo4life.web.rest.model.SeekPageRequest;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@UtilityClass
+public class KeysetPageUtil {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    public static boolean isSeek(final SeekPageRequest seek) {
+        return Objects.nonNull(seek) && Boolean.TRUE.equals(seek.getSeek());
+    }
+
+    /**
+     * Loads the page after {@code seek.cursor} with a LIMIT query instead of an
+     * OFFSET, so deep pages cost the same as the first one. The count query
+     * only runs when the caller asks for the total.
+     *
+     * @param fetchPaths associations fetched with the page, like the
+     *                   {@code @EntityGraph} on the repository's paged findAll,
+     *                   which the fluent query does not pick up
+     */
+    public static <T extends AbstractEntity> KeysetPage<T> findPage(
+            final JpaSpecificationExecutor<T> repository, final Specification<T> specification,
+            final SeekPageRequest seek, final int size, final String... fetchPaths) {
+        Specification<T> filter = Specification.where(specification);
+        Specification<T> pageFilter = filter;
+        if (StringUtils.isNotBlank(seek.getCursor())) {
+            String[] cursor = decodeCursor(seek.getCursor());
+            pageFilter = filter.and(KeysetSpecifications.after(LocalDateTime.parse(cursor[0]),
+                    UUID.fromString(cursor[1])));
+        }
+        // One extra row tells whether there is a next page
+        List<T> rows = repository.findBy(pageFilter,
+                query -> query.sortBy(KeysetSpecifications.KEYSET_SORT).limit(size + 1).project(fetchPaths).all());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(rows.get(size - 1));
+        }
+        Long total = Boolean.TRUE.equals(seek.getIncludeTotal()) ? repository.count(filter) : null;
+        return new KeysetPage<>(rows, nextCursor, total);
+    }
+
+    private static String encodeCursor(final AbstractEntity last) {
+        String cursor = last.getCreatedAt() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(final String cursor) {
+        try {
+            String[] parts = StringUtils.split(
+                    new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), CURSOR_SEPARATOR);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            // Fail fast on malformed values
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: {0}", cursor);
+        }
+    }
+}
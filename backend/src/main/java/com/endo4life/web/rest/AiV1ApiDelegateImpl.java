@@ -6,6 +6,7 @@ import com.endo4life.web.rest.api.AiV1ApiDelegate;
 import com.endo4life.web.rest.model.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -53,6 +54,28 @@ public class AiV1ApiDelegateImpl implements AiV1ApiDelegate {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    @RoleAccess.ContentManager
+    public ResponseEntity<AIAnalysisJobDto> startResourceAnalysis(
+            UUID resourceId,
+            AIAnalysisRequestDto request) {
+        
+        if (request == null) {
+            request = new AIAnalysisRequestDto();
+        }
+        
+        log.info("Background AI analysis request for resource: {}", resourceId);
+        
+        var job = aiAnalysisService.startAnalysis(resourceId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Override
+    @RoleAccess.ContentManager
+    public ResponseEntity<AIAnalysisJobDto> getAnalysisJob(UUID jobId) {
+        return ResponseEntity.ok(aiAnalysisService.getAnalysisJob(jobId));
+    }
+
     @Override
     @RoleAccess.Authenticated
     public ResponseEntity<AIHealthResponseDto> getAIHealth() {
@@ -4,12 +4,14 @@ import com.endo4life.security.RoleAccess;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.endo4life.service.comment.CommentService;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.web.rest.api.CommentV1ApiDelegate;
 import com.endo4life.web.rest.model.CommentCriteria;
 import com.endo4life.web.rest.model.CommentResponseDto;
 import com.endo4life.web.rest.model.CommentResponsePaginatedDto;
 import com.endo4life.web.rest.model.CreateCommentRequestDto;
 import com.endo4life.web.rest.model.IdWrapperDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateCommentRequestDto;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -34,7 +36,15 @@ public class CommentV1ApiDelegateImpl implements CommentV1ApiDelegate {
     @Override
     @RoleAccess.Authenticated // All authenticated users can view comments (filtered by resource)
     public ResponseEntity<CommentResponsePaginatedDto> getComments(CommentCriteria criteria,
-            Pageable pageable) {
+            Pageable pageable, SeekPageRequest seek) {
+        if (KeysetPageUtil.isSeek(seek)) {
+            var page = commentService.getComments(criteria, seek, pageable.getPageSize());
+            return ResponseEntity.ok(
+                    new CommentResponsePaginatedDto()
+                            .data(page.content())
+                            .total(page.total())
+                            .nextCursor(page.nextCursor()));
+        }
         var result = commentService.getComments(criteria, pageable);
         return ResponseEntity.ok(
                 new CommentResponsePaginatedDto()
@@ -2,6 +2,7 @@ package com.endo4life.web.rest;
 
 import com.endo4life.security.RoleAccess;
 import com.endo4life.service.doctoruserconversation.DoctorUserConversationService;
+import com.endo4life.utils.KeysetPageUtil;
 import com.endo4life.web.rest.api.DoctorUserConversationsV1ApiDelegate;
 import com.endo4life.web.rest.model.*;
 import lombok.RequiredArgsConstructor;
@@ -24,9 +25,12 @@ public class DoctorUserConversationsV1ApiDelegateImpl implements DoctorUserConve
     @RoleAccess.Authenticated // All authenticated users can list (filtered by their role in frontend)
     public ResponseEntity<DoctorUserConversationResponsePaginatedDto> getDoctorUserConversations(
             DoctorUserConversationCriteria criteria,
-            Pageable pageable) {
+            Pageable pageable,
+            SeekPageRequest seek) {
         log.info("Getting doctor-user conversations with criteria: {}", criteria);
-        DoctorUserConversationResponsePaginatedDto result = conversationService.getConversations(criteria, pageable);
+        DoctorUserConversationResponsePaginatedDto result = KeysetPageUtil.isSeek(seek)
+                ? conversationService.getConversations(criteria, seek, pageable.getPageSize())
+                : conversationService.getConversations(criteria, pageable);
         return ResponseEntity.ok(result);
     }
 
@@ -6,6 +6,7 @@ import com.endo4life.web.rest.model.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.endo4life.service.resource.ResourceService;
+import com.endo4life.utils.KeysetPageUtil;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -22,7 +23,16 @@ public class ResourceV1ApiDelegateImpl implements ResourceV1ApiDelegate {
 
     @Override
     @RoleAccess.Authenticated
-    public ResponseEntity<ResourceResponsePaginatedDto> getResources(ResourceCriteria criteria, Pageable pageable) {
+    public ResponseEntity<ResourceResponsePaginatedDto> getResources(ResourceCriteria criteria, Pageable pageable,
+            SeekPageRequest seek) {
+        if (KeysetPageUtil.isSeek(seek)) {
+            var page = resourceService.getResources(criteria, seek, pageable.getPageSize());
+            return ResponseEntity.ok(
+                    new ResourceResponsePaginatedDto()
+                            .data(page.content())
+                            .total(page.total())
+                            .nextCursor(page.nextCursor()));
+        }
         var result = resourceService.getResources(criteria, pageable);
         return ResponseEntity.ok(
                 new ResourceResponsePaginatedDto()
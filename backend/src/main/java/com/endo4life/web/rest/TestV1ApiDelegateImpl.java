@@ -2,9 +2,11 @@ package com.endo4life.web.rest;
 
 import com.endo4life.security.RoleAccess;
 import com.endo4life.service.test.TestService;
+import com.endo4life.service.usertest.UserTestService;
 import com.endo4life.web.rest.api.TestV1ApiDelegate;
 import com.endo4life.web.rest.model.CreateTestRequestDto;
 import com.endo4life.web.rest.model.IdWrapperDto;
+import com.endo4life.web.rest.model.RegradeResultDto;
 import com.endo4life.web.rest.model.TestDetailResponseDto;
 import com.endo4life.web.rest.model.TestResponseDto;
 import com.endo4life.web.rest.model.UpdateTestRequestDto;
@@ -21,6 +23,7 @@ import java.util.UUID;
 public class TestV1ApiDelegateImpl implements TestV1ApiDelegate {
 
     private final TestService testService;
+    private final UserTestService userTestService;
 
     @Override
     @RoleAccess.ContentManager // ADMIN or SPECIALIST
@@ -60,4 +63,10 @@ public class TestV1ApiDelegateImpl implements TestV1ApiDelegate {
         testService.updateTest(id, updateTestRequestDto);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Override
+    @RoleAccess.ContentManager // ADMIN or SPECIALIST
+    public ResponseEntity<RegradeResultDto> regradeTest(UUID id) {
+        return ResponseEntity.ok(userTestService.regradeSubmissions(id));
+    }
+}
@@ -2,15 +2,24 @@ package com.endo4life.web.rest;
 
 import java.util.UUID;
 
+import com.endo4life.domain.document.UserInfo;
+import com.endo4life.domain.dto.BulkResult;
 import com.endo4life.security.RoleAccess;
+import com.endo4life.web.rest.model.BulkInviteUserRequestDto;
+import com.endo4life.web.rest.model.BulkUserFailureDto;
+import com.endo4life.web.rest.model.BulkUserResultDto;
+import com.endo4life.web.rest.model.BulkUserRoleRequestDto;
+import com.endo4life.web.rest.model.BulkUserStateRequestDto;
 import com.endo4life.web.rest.model.CreateUserRequestDto;
 import com.endo4life.web.rest.model.IdWrapperDto;
 import com.endo4life.web.rest.model.InviteUserRequestDto;
+import com.endo4life.web.rest.model.SeekPageRequest;
 import com.endo4life.web.rest.model.UpdateUserRequestDto;
 import com.endo4life.web.rest.model.UserInfoCriteria;
 import com.endo4life.web.rest.model.UserResponsePaginatedDto;
 import com.endo4life.web.rest.model.UserResponseDto;
 import com.endo4life.service.user.UserInfoService;
+import com.endo4life.utils.KeysetPageUtil;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -52,7 +61,15 @@ public class UserV1ApiDelegateImpl implements UserV1ApiDelegate {
     @Override
     @RoleAccess.StaffOnly // ADMIN, SPECIALIST, COORDINATOR
     public ResponseEntity<UserResponsePaginatedDto> getUsers(UserInfoCriteria criteria,
-            Pageable pageable) {
+            Pageable pageable, SeekPageRequest seek) {
+        if (KeysetPageUtil.isSeek(seek)) {
+            var page = userInfoService.getUserByCriteria(criteria, seek, pageable.getPageSize());
+            return ResponseEntity.ok(
+                    new UserResponsePaginatedDto()
+                            .total(page.total())
+                            .data(page.content())
+                            .nextCursor(page.nextCursor()));
+        }
         var result = userInfoService.getUserByCriteria(criteria, pageable);
         return ResponseEntity.ok(
                 new UserResponsePaginatedDto()
@@ -87,4 +104,36 @@ public class UserV1ApiDelegateImpl implements UserV1ApiDelegate {
         userInfoService.updateUser(id, dto);
         return ResponseEntity.noContent().build();
     }
+
+    @Override
+    @RoleAccess.UserManager // ADMIN or COORDINATOR
+    public ResponseEntity<BulkUserResultDto> updateUsersState(BulkUserStateRequestDto request) {
+        var result = userInfoService.updateUsersState(request.getIds(),
+                UserInfo.UserInfoState.valueOf(request.getState().getValue()), request.getSessionId());
+        return ResponseEntity.ok(toBulkUserResultDto(result));
+    }
+
+    @Override
+    @RoleAccess.UserManager // ADMIN or COORDINATOR
+    public ResponseEntity<BulkUserResultDto> updateUsersRole(BulkUserRoleRequestDto request) {
+        var result = userInfoService.updateUsersRole(request.getIds(),
+                UserInfo.UserInfoRole.valueOf(request.getRole().getValue()), request.getSessionId());
+        return ResponseEntity.ok(toBulkUserResultDto(result));
+    }
+
+    @Override
+    @RoleAccess.UserManager // ADMIN or COORDINATOR
+    public ResponseEntity<BulkUserResultDto> inviteUsers(BulkInviteUserRequestDto request) {
+        var result = userInfoService.inviteUsers(request.getUsers(), request.getSessionId());
+        return ResponseEntity.ok(toBulkUserResultDto(result));
+    }
+
+    private BulkUserResultDto toBulkUserResultDto(BulkResult<?> result) {
+        return new BulkUserResultDto()
+                .total(result.total())
+                .succeeded(result.succeeded().size())
+                .failures(result.failures().entrySet().stream()
+                        .map(failure -> new BulkUserFailureDto().key(failure.getKey()).error(failure.getValue()))
+                        .toList());
+    }
 }
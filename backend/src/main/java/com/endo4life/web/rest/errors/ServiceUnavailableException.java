@@ -0,0 +1,14 @@
+package com.endo4life.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+
+import java.text.MessageFormat;
+
+public class ServiceUnavailableException extends AbstractThrowableProblem {
+
+    public ServiceUnavailableException(final String message, final Object... args) {
+        super(Problem.DEFAULT_TYPE, MessageFormat.format(message, args), Status.SERVICE_UNAVAILABLE);
+    }
+}
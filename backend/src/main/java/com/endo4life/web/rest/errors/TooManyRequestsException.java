@@ -0,0 +1,14 @@
+package com.endo4life.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+
+import java.text.MessageFormat;
+
+public class TooManyRequestsException extends AbstractThrowableProblem {
+
+    public TooManyRequestsException(final String message, final Object... args) {
+        super(Problem.DEFAULT_TYPE, MessageFormat.format(message, args), Status.TOO_MANY_REQUESTS);
+    }
+}
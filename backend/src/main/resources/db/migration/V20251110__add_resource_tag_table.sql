@@ -0,0 +1,67 @@
+-- Normalized resource <-> tag index used for tag filtering.
+-- The comma-joined tag columns on resource stay the source of truth; a trigger
+-- keeps this table in sync so every write path is covered.
+CREATE TABLE IF NOT EXISTS resource_tag (
+    resource_id UUID         NOT NULL REFERENCES resource(id) ON DELETE CASCADE,
+    category    VARCHAR(50)  NOT NULL,
+    tag         TEXT         NOT NULL,
+    PRIMARY KEY (resource_id, category, tag)
+);
+
+-- Lookup by facet and value; resource_id is included so filters are index-only
+CREATE INDEX idx_resource_tag_category_tag ON resource_tag(category, tag, resource_id);
+
+CREATE OR REPLACE FUNCTION sync_resource_tag() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM resource_tag WHERE resource_id = NEW.id;
+    INSERT INTO resource_tag (resource_id, category, tag)
+    SELECT NEW.id, facet.category, lower(trim(value))
+    FROM (VALUES ('TAG', NEW.tag),
+                 ('DETAIL_TAG', NEW.detail_tag),
+                 ('ANATOMY_LOCATION_TAG', NEW.anatomy_location_tag),
+                 ('HP_TAG', NEW.hp_tag),
+                 ('LIGHT_TAG', NEW.light_tag),
+                 ('UPPER_GASTRO_ANATOMY_TAG', NEW.upper_gastro_anatomy_tag)) AS facet(category, tags),
+         unnest(string_to_array(facet.tags, ',')) AS value
+    WHERE facet.tags IS NOT NULL
+      AND trim(value) <> ''
+    ON CONFLICT DO NOTHING;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_resource_tag_sync
+    AFTER INSERT
+    ON resource
+    FOR EACH ROW
+EXECUTE FUNCTION sync_resource_tag();
+
+-- Hibernate updates write every column, so only resync when a tag value actually changed
+CREATE TRIGGER trg_resource_tag_sync_update
+    AFTER UPDATE OF tag, detail_tag, anatomy_location_tag, hp_tag, light_tag, upper_gastro_anatomy_tag
+    ON resource
+    FOR EACH ROW
+    WHEN (OLD.tag IS DISTINCT FROM NEW.tag
+        OR OLD.detail_tag IS DISTINCT FROM NEW.detail_tag
+        OR OLD.anatomy_location_tag IS DISTINCT FROM NEW.anatomy_location_tag
+        OR OLD.hp_tag IS DISTINCT FROM NEW.hp_tag
+        OR OLD.light_tag IS DISTINCT FROM NEW.light_tag
+        OR OLD.upper_gastro_anatomy_tag IS DISTINCT FROM NEW.upper_gastro_anatomy_tag)
+EXECUTE FUNCTION sync_resource_tag();
+
+-- Backfill existing resources
+INSERT INTO resource_tag (resource_id, category, tag)
+SELECT r.id, facet.category, lower(trim(value))
+FROM resource r
+         CROSS JOIN LATERAL (VALUES ('TAG', r.tag),
+                                    ('DETAIL_TAG', r.detail_tag),
+                                    ('ANATOMY_LOCATION_TAG', r.anatomy_location_tag),
+                                    ('HP_TAG', r.hp_tag),
+                                    ('LIGHT_TAG', r.light_tag),
+                                    ('UPPER_GASTRO_ANATOMY_TAG', r.upper_gastro_anatomy_tag)) AS facet(category, tags)
+         CROSS JOIN LATERAL unnest(string_to_array(facet.tags, ',')) AS value
+WHERE facet.tags IS NOT NULL
+  AND trim(value) <> ''
+ON CONFLICT DO NOTHING;
+
+COMMENT ON TABLE resource_tag IS 'One row per (resource, tag facet, lower-cased tag); maintained by trg_resource_tag_sync and trg_resource_tag_sync_update';
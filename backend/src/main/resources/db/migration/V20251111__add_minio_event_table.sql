@@ -0,0 +1,20 @@
+-- Durable queue of MinIO bucket notifications, drained by MinioEventQueue
+CREATE TABLE IF NOT EXISTS minio_event (
+    id              UUID PRIMARY KEY,
+    action          VARCHAR(50)              NOT NULL,
+    bucket          VARCHAR(255)             NOT NULL,
+    object_key      VARCHAR(1024)            NOT NULL,
+    status          VARCHAR(20)              NOT NULL,
+    attempts        INT                      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP WITH TIME ZONE
+);
+
+-- At most one waiting event per object; repeated notifications collapse into it
+CREATE UNIQUE INDEX uq_minio_event_pending ON minio_event(bucket, object_key) WHERE status = 'PENDING';
+
+CREATE INDEX idx_minio_event_due ON minio_event(next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING');
+
+COMMENT ON TABLE minio_event IS 'Outbox of MinIO webhook events; rows are deleted once processed';
@@ -0,0 +1,6 @@
+-- Support keyset pagination ordered by (created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_resource_created_at_id ON resource(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_created_at_id ON comment(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_user_info_created_at_id ON user_info(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_doctor_user_conversations_created_at_id
+    ON doctor_user_conversations(created_at DESC, id DESC);
@@ -0,0 +1,42 @@
+-- Full-text search over resource title, description and tags.
+-- Lexemes are unaccented and lower-cased with the 'simple' configuration, so
+-- "nội soi" and "noi soi" match the same rows.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE because its dictionary can be changed; pinning the
+-- dictionary makes it usable in a generated column and an index
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+-- Adding a stored generated column rewrites the table, which backfills every existing row
+ALTER TABLE resource
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', f_unaccent(coalesce(title, ''))), 'A') ||
+        setweight(to_tsvector('simple', f_unaccent(coalesce(description, ''))), 'B') ||
+        setweight(to_tsvector('simple', f_unaccent(
+                coalesce(tag, '') || ' ' || coalesce(detail_tag, '') || ' ' ||
+                coalesce(anatomy_location_tag, '') || ' ' || coalesce(hp_tag, '') || ' ' ||
+                coalesce(light_tag, '') || ' ' || coalesce(upper_gastro_anatomy_tag, ''))), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_resource_search_vector ON resource USING GIN (search_vector);
+
+-- Turns free text into a prefix query where every word must match: "noi so" -> 'noi':* & 'so':*
+CREATE OR REPLACE FUNCTION resource_search_query(text) RETURNS tsquery AS $$
+    SELECT to_tsquery('simple', string_agg(word || ':*', ' & '))
+    FROM regexp_split_to_table(f_unaccent(lower($1)), '[^[:alnum:]]+') AS word
+    WHERE word <> ''
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+-- Thin wrappers so JPA criteria can call the match operator and the ranking.
+-- Both are inlined by the planner, so the GIN index is still used.
+CREATE OR REPLACE FUNCTION resource_search_matches(tsvector, text) RETURNS boolean AS $$
+    SELECT $1 @@ resource_search_query($2)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+CREATE OR REPLACE FUNCTION resource_search_rank(tsvector, text) RETURNS real AS $$
+    SELECT ts_rank_cd($1, resource_search_query($2))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+COMMENT ON COLUMN resource.search_vector IS 'Weighted tsvector of title (A), description (B) and tags (C); generated';
@@ -0,0 +1,20 @@
+-- Durable queue of course completion certificates to issue, drained by CertificateIssuanceQueue
+CREATE TABLE IF NOT EXISTS certificate_job (
+    id              UUID PRIMARY KEY,
+    user_info_id    UUID                     NOT NULL,
+    course_id       UUID                     NOT NULL,
+    status          VARCHAR(20)              NOT NULL,
+    attempts        INT                      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP WITH TIME ZONE
+);
+
+-- At most one live job per enrolment; a repeated final exam pass does not queue a second one
+CREATE UNIQUE INDEX uq_certificate_job_live ON certificate_job(user_info_id, course_id)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX idx_certificate_job_due ON certificate_job(next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING');
+
+COMMENT ON TABLE certificate_job IS 'Outbox of course completion certificates to issue; rows are deleted once issued';
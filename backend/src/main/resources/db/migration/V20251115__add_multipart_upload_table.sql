@@ -0,0 +1,13 @@
+-- Multipart uploads in progress, so an upload interrupted by a crash can be resumed
+CREATE TABLE IF NOT EXISTS multipart_upload (
+    id         UUID PRIMARY KEY,
+    bucket     VARCHAR(255)             NOT NULL,
+    object_key VARCHAR(1024)            NOT NULL,
+    upload_id  VARCHAR(1024)            NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- One open upload per object; a new upload replaces the row
+CREATE UNIQUE INDEX uq_multipart_upload_object ON multipart_upload(bucket, object_key);
+
+COMMENT ON TABLE multipart_upload IS 'Open S3 multipart uploads; rows are deleted once the upload completes or is aborted';